@@ -0,0 +1,80 @@
+package com.volunteer.portal.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level cache regions for rarely changing reference data (events and their admin creators).
+ * Regions are created here, bounded and with a TTL, because Caffeine's JCache defaults are unbounded;
+ * hibernate.javax.cache.missing_cache_strategy=fail keeps an unlisted region from slipping in.
+ * Hit/miss counts are published by actuator as hibernate.second.level.cache.requests.
+ * Regions are node-local: a write on one node invalidates only that node's copies, so other nodes can
+ * serve an edited event for up to cache.ttl-seconds and a stale listing for up to
+ * cache.query-results.ttl-seconds, which is kept short for that reason.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // Must match the region names in the entities' @Cache annotations
+    public static final String EVENTS_REGION = "events";
+    public static final String ADMIN_USERS_REGION = "admin-users";
+
+    @Value("${cache.events.max-entries:5000}")
+    private long eventsMaxEntries;
+
+    @Value("${cache.admin-users.max-entries:1000}")
+    private long adminUsersMaxEntries;
+
+    @Value("${cache.query-results.max-entries:1000}")
+    private long queryResultsMaxEntries;
+
+    @Value("${cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${cache.query-results.ttl-seconds:30}")
+    private long queryResultsTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createCache(cacheManager, EVENTS_REGION, eventsMaxEntries, ttlSeconds);
+        createCache(cacheManager, ADMIN_USERS_REGION, adminUsersMaxEntries, ttlSeconds);
+        createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                queryResultsMaxEntries, queryResultsTtlSeconds);
+        // One entry per table; never expired, since a missing timestamp would let stale query results through
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 1000, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maxEntries, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttlSeconds > 0) {
+            config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        config.setStatisticsEnabled(true);
+        cacheManager.createCache(name, config);
+    }
+}
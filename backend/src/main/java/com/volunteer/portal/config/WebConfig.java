@@ -1,16 +1,57 @@
 package com.volunteer.portal.config;
 
+import com.volunteer.portal.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.IOException;
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private BlobStore blobStore;
+
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
+        // Uploads are resolved through the blob store, so the on-disk layout (or bucket) stays private
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/");
+                .resourceChain(false)
+                .addResolver(new BlobStoreResourceResolver("uploads/"));
+    }
+
+    private class BlobStoreResourceResolver extends AbstractResourceResolver {
+        private final String keyPrefix;
+
+        BlobStoreResourceResolver(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        @Override
+        protected Resource resolveResourceInternal(HttpServletRequest request, @NonNull String requestPath,
+                                                   @NonNull List<? extends Resource> locations,
+                                                   @NonNull ResourceResolverChain chain) {
+            // Only metadata is fetched here; the body is opened and closed by the response writer
+            try {
+                return blobStore.get(keyPrefix + requestPath);
+            } catch (IOException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Override
+        protected String resolveUrlPathInternal(@NonNull String resourceUrlPath,
+                                                @NonNull List<? extends Resource> locations,
+                                                @NonNull ResourceResolverChain chain) {
+            return resourceUrlPath;
+        }
     }
 }
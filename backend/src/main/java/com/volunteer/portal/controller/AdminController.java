@@ -1,8 +1,11 @@
 package com.volunteer.portal.controller;
 
+import com.volunteer.portal.dto.BulkReviewRequest;
+import com.volunteer.portal.dto.BulkReviewResultDto;
 import com.volunteer.portal.dto.DashboardDto;
 import com.volunteer.portal.dto.EventDto;
 import com.volunteer.portal.dto.ProofDto;
+import com.volunteer.portal.dto.ProofPageDto;
 import com.volunteer.portal.dto.UserDto;
 import com.volunteer.portal.service.DashboardService;
 import com.volunteer.portal.service.EventService;
@@ -10,11 +13,13 @@ import com.volunteer.portal.service.ProofService;
 import com.volunteer.portal.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -91,6 +96,24 @@ public class AdminController {
         );
     }
 
+    // Oldest-first review queue with keyset paging; pass nextCursor/prevCursor back as cursor
+    @GetMapping("/proofs/queue")
+    public ResponseEntity<ProofPageDto> getReviewQueue(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "status", required = false, defaultValue = "PENDING") String status,
+            @RequestParam(value = "eventId", required = false) Long eventId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(
+                proofService.getReviewQueue(authentication.getName(), cursor, limit, status, eventId, from, to)
+        );
+    }
+
     @PutMapping("/proofs/{proofId}/approve")
     public ResponseEntity<ProofDto> approveProof(
             @PathVariable Long proofId,
@@ -99,11 +122,7 @@ public class AdminController {
 
         String adminEmail = authentication.getName();
 
-        boolean ownsProof = proofService.getProofsByAdmin(adminEmail)
-                .stream()
-                .anyMatch(p -> p.getId().equals(proofId));
-
-        if (!ownsProof) {
+        if (!proofService.isOwnedByAdmin(proofId, adminEmail)) {
             return ResponseEntity.status(403).build();
         }
 
@@ -112,6 +131,17 @@ public class AdminController {
         );
     }
 
+    // Up to proofs.bulk-review.max-items decisions in one transaction; failures are reported per item
+    @PostMapping("/proofs/bulk-review")
+    public ResponseEntity<List<BulkReviewResultDto>> bulkReviewProofs(
+            @Valid @RequestBody BulkReviewRequest request,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(
+                proofService.bulkReview(authentication.getName(), request.getItems())
+        );
+    }
+
     /* ==============================
        REGENERATE CERTIFICATE ✅
     ============================== */
@@ -121,7 +151,7 @@ public class AdminController {
             Authentication authentication
     ) {
         proofService.regenerateCertificate(proofId, authentication.getName());
-        return ResponseEntity.ok("Certificate regenerated successfully");
+        return ResponseEntity.ok("Certificate regeneration queued");
     }
 
     @PutMapping("/proofs/{proofId}/reject")
@@ -133,11 +163,7 @@ public class AdminController {
 
         String adminEmail = authentication.getName();
 
-        boolean ownsProof = proofService.getProofsByAdmin(adminEmail)
-                .stream()
-                .anyMatch(p -> p.getId().equals(proofId));
-
-        if (!ownsProof) {
+        if (!proofService.isOwnedByAdmin(proofId, adminEmail)) {
             return ResponseEntity.status(403).build();
         }
 
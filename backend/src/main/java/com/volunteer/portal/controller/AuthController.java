@@ -7,6 +7,7 @@ import com.volunteer.portal.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -27,4 +28,11 @@ public class AuthController {
         AuthResponse response = authService.login(loginRequest);
         return ResponseEntity.ok(response);
     }
+
+    // Invalidates every token issued to the caller, including the one used for this request
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(Authentication authentication) {
+        authService.revokeAllTokens(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,14 +1,21 @@
 package com.volunteer.portal.controller;
 
-import com.volunteer.portal.entity.Certificate;
 import com.volunteer.portal.service.CertificateService;
+import com.volunteer.portal.service.CertificateVerificationCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.time.format.DateTimeFormatter;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/certificates")
@@ -19,38 +26,62 @@ public class CertificateController {
     private CertificateService certificateService;
 
     @GetMapping("/download/{certificateId}")
-    public ResponseEntity<byte[]> downloadCertificate(@PathVariable String certificateId) {
+    public ResponseEntity<Resource> downloadCertificate(@PathVariable String certificateId, WebRequest request) {
         try {
-            byte[] certificateFile = certificateService.getCertificateFile(certificateId);
+            // Looked up first: a deleted or regenerated certificate must answer 404, not 304 to an old ETag
+            String storageKey = certificateService.getCertificateStorageKey(certificateId);
+
+            // Issued certificates never change, so the id alone is a strong validator; a match skips storage
+            String etag = "\"" + certificateId + "\"";
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+
+            // Remote storage serves the bytes itself; send the client there
+            Optional<String> directUrl = certificateService.getDirectDownloadUrl(storageKey);
+            if (directUrl.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .location(URI.create(directUrl.get()))
+                        .build();
+            }
+
+            Resource certificateFile = certificateService.openCertificate(storageKey);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", certificateId + ".pdf");
+            headers.setContentDisposition(
+                    ContentDisposition.attachment().filename(certificateId + ".pdf").build());
 
+            // Range and If-Range requests are answered with partial content by Spring's resource handling
             return ResponseEntity.ok()
                     .headers(headers)
+                    .eTag(etag)
+                    .lastModified(certificateFile.lastModified())
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
                     .body(certificateFile);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping("/qr/{certificateId}")
+    public ResponseEntity<byte[]> getQRCode(@PathVariable String certificateId) {
+        try {
+            byte[] png = certificateService.getQRCodePng(certificateId);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_PNG)
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .body(png);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/verify/{certificateId}")
     public ResponseEntity<?> verifyCertificate(@PathVariable String certificateId) {
-        try {
-            Certificate certificate = certificateService.getCertificateById(certificateId);
+        CertificateVerificationCache.VerificationRecord record = certificateService.verifyCertificate(certificateId);
 
-            // Return certificate verification details
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            return ResponseEntity.ok(new CertificateVerificationResponse(
-                certificate.getCertificateId(),
-                certificate.getUser().getName(),
-                certificate.getEvent().getTitle(),
-                certificate.getIssuedAt().format(formatter),
-                certificate.getProof().getPointsAwarded(),
-                true // Valid certificate
-            ));
-        } catch (Exception e) {
+        if (record == null) {
             return ResponseEntity.ok(new CertificateVerificationResponse(
                 certificateId,
                 null,
@@ -60,6 +91,15 @@ public class CertificateController {
                 false // Invalid certificate
             ));
         }
+
+        return ResponseEntity.ok(new CertificateVerificationResponse(
+            record.getCertificateId(),
+            record.getVolunteerName(),
+            record.getEventTitle(),
+            record.getIssuedDate(),
+            record.getPointsAwarded(),
+            true // Valid certificate
+        ));
     }
 
     // DTO for certificate verification response
@@ -1,13 +1,18 @@
 package com.volunteer.portal.controller;
 
 import com.volunteer.portal.dto.EventDto;
+import com.volunteer.portal.dto.EventPageDto;
 import com.volunteer.portal.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/events")
@@ -23,6 +28,19 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<EventPageDto> getEventPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        EventPageDto page = eventService.getEventPage(cursor, limit, category, from, to);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EventDto> getEventById(@PathVariable Long id) {
         EventDto event = eventService.getEventById(id);
@@ -30,10 +48,10 @@ public class EventController {
     }
 
     @PostMapping("/register/{eventId}")
-    public ResponseEntity<Void> registerForEvent(@PathVariable Long eventId, Authentication authentication) {
+    public ResponseEntity<Map<String, String>> registerForEvent(@PathVariable Long eventId, Authentication authentication) {
         String userEmail = authentication.getName();
-        eventService.registerForEvent(eventId, userEmail);
-        return ResponseEntity.ok().build();
+        String status = eventService.registerForEvent(eventId, userEmail);
+        return ResponseEntity.ok(Collections.singletonMap("status", status));
     }
 
     @DeleteMapping("/unregister/{eventId}")
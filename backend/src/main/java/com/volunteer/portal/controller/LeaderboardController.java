@@ -1,9 +1,11 @@
 package com.volunteer.portal.controller;
 
 import com.volunteer.portal.dto.LeaderboardDto;
+import com.volunteer.portal.dto.RecalculationStatusDto;
 import com.volunteer.portal.service.LeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,15 +17,42 @@ public class LeaderboardController {
     @Autowired
     private LeaderboardService leaderboardService;
 
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 100;
+
     @GetMapping
-    public ResponseEntity<List<LeaderboardDto>> getLeaderboard() {
-        List<LeaderboardDto> leaderboard = leaderboardService.getLeaderboard();
-        return ResponseEntity.ok(leaderboard);
+    public ResponseEntity<List<LeaderboardDto>> getLeaderboard(
+            @RequestParam(value = "offset", required = false) Integer offset,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (offset == null && limit == null) {
+            return ResponseEntity.ok(leaderboardService.getLeaderboard());
+        }
+        if (offset != null && offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(offset != null ? offset : 0, pageSize));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardDto> getMyRank(Authentication authentication) {
+        LeaderboardDto rank = leaderboardService.getRank(authentication.getName());
+        return ResponseEntity.ok(rank);
     }
 
     @PostMapping("/recalculate")
-    public ResponseEntity<String> recalculatePoints() {
-        leaderboardService.recalculateAllUserPoints();
-        return ResponseEntity.ok("User points recalculated successfully");
+    public ResponseEntity<?> recalculatePoints(
+            @RequestParam(value = "async", defaultValue = "false") boolean async) {
+        if (async) {
+            RecalculationStatusDto job = leaderboardService.startRecalculationJob();
+            return ResponseEntity.accepted().body(job);
+        }
+        int updated = leaderboardService.recalculateAllUserPoints();
+        return ResponseEntity.ok("User points recalculated successfully (" + updated + " users updated)");
+    }
+
+    @GetMapping("/recalculate/{jobId}")
+    public ResponseEntity<RecalculationStatusDto> getRecalculationStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(leaderboardService.getRecalculationStatus(jobId));
     }
 }
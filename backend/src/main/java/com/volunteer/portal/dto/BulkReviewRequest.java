@@ -0,0 +1,70 @@
+package com.volunteer.portal.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkReviewRequest {
+
+    public enum Decision {
+        APPROVE, REJECT
+    }
+
+    public static class Item {
+        @NotNull(message = "Proof ID is required")
+        private Long proofId;
+
+        @NotNull(message = "Decision is required")
+        private Decision decision;
+
+        // Required when rejecting
+        private String reason;
+
+        public Item() {}
+
+        public Item(Long proofId, Decision decision, String reason) {
+            this.proofId = proofId;
+            this.decision = decision;
+            this.reason = reason;
+        }
+
+        public Long getProofId() {
+            return proofId;
+        }
+
+        public void setProofId(Long proofId) {
+            this.proofId = proofId;
+        }
+
+        public Decision getDecision() {
+            return decision;
+        }
+
+        public void setDecision(Decision decision) {
+            this.decision = decision;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid Item> items;
+
+    public BulkReviewRequest() {}
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+}
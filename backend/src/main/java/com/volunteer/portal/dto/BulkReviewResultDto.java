@@ -0,0 +1,67 @@
+package com.volunteer.portal.dto;
+
+public class BulkReviewResultDto {
+    private Long proofId;
+    private String decision;
+    private boolean success;
+    private String status;
+    private String error;
+
+    public BulkReviewResultDto() {}
+
+    public BulkReviewResultDto(Long proofId, String decision, boolean success, String status, String error) {
+        this.proofId = proofId;
+        this.decision = decision;
+        this.success = success;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BulkReviewResultDto ok(Long proofId, String decision, String status) {
+        return new BulkReviewResultDto(proofId, decision, true, status, null);
+    }
+
+    public static BulkReviewResultDto failed(Long proofId, String decision, String error) {
+        return new BulkReviewResultDto(proofId, decision, false, null, error);
+    }
+
+    public Long getProofId() {
+        return proofId;
+    }
+
+    public void setProofId(Long proofId) {
+        this.proofId = proofId;
+    }
+
+    public String getDecision() {
+        return decision;
+    }
+
+    public void setDecision(String decision) {
+        this.decision = decision;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,59 @@
+package com.volunteer.portal.dto;
+
+import java.util.List;
+
+public class EventPageDto {
+    private List<EventDto> events;
+    private String nextCursor;
+    private String prevCursor;
+    private Integer limit;
+
+    public EventPageDto() {}
+
+    public EventPageDto(List<EventDto> events, String nextCursor, String prevCursor, Integer limit) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+        this.limit = limit;
+    }
+
+    public List<EventDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventDto> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isHasPrev() {
+        return prevCursor != null;
+    }
+}
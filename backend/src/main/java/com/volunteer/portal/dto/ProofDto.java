@@ -11,12 +11,15 @@ public class ProofDto {
     private String eventCategory;
     private String eventCoordinatorName;
     private String proofUrl;
+    private String thumbnailUrl;
     private String status;
     private LocalDateTime submittedAt;
     private LocalDateTime reviewedAt;
     private Integer pointsAwarded;
     private String rejectionReason;
     private String certificateId;
+    private String certificateStatus;
+    private Boolean possibleDuplicate;
 
     public ProofDto() {}
 
@@ -98,6 +101,14 @@ public class ProofDto {
         this.proofUrl = proofUrl;
     }
 
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -145,4 +156,20 @@ public class ProofDto {
     public void setCertificateId(String certificateId) {
         this.certificateId = certificateId;
     }
+
+    public String getCertificateStatus() {
+        return certificateStatus;
+    }
+
+    public void setCertificateStatus(String certificateStatus) {
+        this.certificateStatus = certificateStatus;
+    }
+
+    public Boolean getPossibleDuplicate() {
+        return possibleDuplicate;
+    }
+
+    public void setPossibleDuplicate(Boolean possibleDuplicate) {
+        this.possibleDuplicate = possibleDuplicate;
+    }
 }
@@ -0,0 +1,59 @@
+package com.volunteer.portal.dto;
+
+import java.util.List;
+
+public class ProofPageDto {
+    private List<ProofDto> proofs;
+    private String nextCursor;
+    private String prevCursor;
+    private Integer limit;
+
+    public ProofPageDto() {}
+
+    public ProofPageDto(List<ProofDto> proofs, String nextCursor, String prevCursor, Integer limit) {
+        this.proofs = proofs;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+        this.limit = limit;
+    }
+
+    public List<ProofDto> getProofs() {
+        return proofs;
+    }
+
+    public void setProofs(List<ProofDto> proofs) {
+        this.proofs = proofs;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isHasPrev() {
+        return prevCursor != null;
+    }
+}
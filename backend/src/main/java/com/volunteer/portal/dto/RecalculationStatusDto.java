@@ -0,0 +1,92 @@
+package com.volunteer.portal.dto;
+
+import java.time.LocalDateTime;
+
+public class RecalculationStatusDto {
+    private String jobId;
+    private String status;
+    private Integer chunksTotal;
+    private Integer chunksDone;
+    private Integer usersUpdated;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public RecalculationStatusDto() {}
+
+    public RecalculationStatusDto(String jobId, String status, Integer chunksTotal, Integer chunksDone,
+                                  Integer usersUpdated, LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.jobId = jobId;
+        this.status = status;
+        this.chunksTotal = chunksTotal;
+        this.chunksDone = chunksDone;
+        this.usersUpdated = usersUpdated;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getChunksTotal() {
+        return chunksTotal;
+    }
+
+    public void setChunksTotal(Integer chunksTotal) {
+        this.chunksTotal = chunksTotal;
+    }
+
+    public Integer getChunksDone() {
+        return chunksDone;
+    }
+
+    public void setChunksDone(Integer chunksDone) {
+        this.chunksDone = chunksDone;
+    }
+
+    public Integer getUsersUpdated() {
+        return usersUpdated;
+    }
+
+    public void setUsersUpdated(Integer usersUpdated) {
+        this.usersUpdated = usersUpdated;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
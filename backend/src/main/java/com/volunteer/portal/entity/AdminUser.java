@@ -1,10 +1,16 @@
 package com.volunteer.portal.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "admin_users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "admin-users")
 public class AdminUser {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +31,14 @@ public class AdminUser {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Bumped to revoke every token issued so far; tokens carry the version they were issued with
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private Integer tokenVersion = 0;
+
+    @Column(name = "tokens_revoked_at")
+    private LocalDateTime tokensRevokedAt;
+
     public AdminUser() {
         this.createdAt = LocalDateTime.now();
     }
@@ -85,4 +99,20 @@ public class AdminUser {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public LocalDateTime getTokensRevokedAt() {
+        return tokensRevokedAt;
+    }
+
+    public void setTokensRevokedAt(LocalDateTime tokensRevokedAt) {
+        this.tokensRevokedAt = tokensRevokedAt;
+    }
+}
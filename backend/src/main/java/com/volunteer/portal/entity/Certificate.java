@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "certificates")
+@Table(name = "certificates",
+       indexes = @Index(name = "idx_certificates_issued_at", columnList = "issued_at"))
 public class Certificate {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
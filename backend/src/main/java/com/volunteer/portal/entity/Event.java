@@ -1,10 +1,19 @@
 package com.volunteer.portal.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_events_category_created_at", columnList = "category, created_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,11 +37,18 @@ public class Event {
     @Column(nullable = true)
     private String category;
 
+    // Maintained only by EventService's conditional seat updates, never by entity writes; the cached
+    // entity's copy is not kept current, so read the column, not this field
+    @ColumnDefault("0")
+    @Column(name = "registered_count", nullable = false, insertable = false, updatable = false)
+    private Integer registeredCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id", nullable = false)
     private AdminUser creator;
 
-    @Column(name = "created_at")
+    // Keyset cursors order on (created_at, id); legacy NULLs are backfilled at startup
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     public Event() {
@@ -105,6 +121,14 @@ public class Event {
         this.category = category;
     }
 
+    public Integer getRegisteredCount() {
+        return registeredCount;
+    }
+
+    public void setRegisteredCount(Integer registeredCount) {
+        this.registeredCount = registeredCount;
+    }
+
     public AdminUser getCreator() {
         return creator;
     }
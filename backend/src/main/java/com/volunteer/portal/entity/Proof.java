@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "proofs")
+@Table(name = "proofs", indexes = {
+       @Index(name = "idx_proofs_event_status_submitted", columnList = "event_id, status, submitted_at"),
+       @Index(name = "idx_proofs_checksum", columnList = "checksum_sha256")
+})
 public class Proof {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,7 +28,7 @@ public class Proof {
     @Column(nullable = false)
     private ProofStatus status;
 
-    @Column(name = "submitted_at")
+    @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt;
 
     @Column(name = "reviewed_at")
@@ -37,6 +40,14 @@ public class Proof {
     @Column(name = "rejection_reason")
     private String rejectionReason;
 
+    // Blob store key, e.g. "uploads/<uuid>_photo.png"; null for proofs stored before the blob store existed
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    // Hex SHA-256 of the uploaded file, computed while streaming it to disk
+    @Column(name = "checksum_sha256", length = 64)
+    private String checksumSha256;
+
     public enum ProofStatus {
         PENDING, APPROVED, REJECTED
     }
@@ -126,4 +137,20 @@ public class Proof {
     public void setRejectionReason(String rejectionReason) {
         this.rejectionReason = rejectionReason;
     }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public String getChecksumSha256() {
+        return checksumSha256;
+    }
+
+    public void setChecksumSha256(String checksumSha256) {
+        this.checksumSha256 = checksumSha256;
+    }
 }
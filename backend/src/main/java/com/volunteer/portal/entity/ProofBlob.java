@@ -0,0 +1,107 @@
+package com.volunteer.portal.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+// One stored copy of an uploaded proof file, shared by every proof with the same bytes
+@Entity
+@Table(name = "proof_blobs")
+public class ProofBlob {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Number of proofs pointing at this blob; the blob is deleted when it reaches zero
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    // Small JPEG preview stored next to the original; null until generated
+    @Column(name = "thumbnail_key")
+    private String thumbnailKey;
+
+    // Set when the file is not a decodable image, so the sweeper stops retrying it
+    @Column(name = "thumbnail_failed", nullable = false)
+    @ColumnDefault("false")
+    private Boolean thumbnailFailed = false;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public ProofBlob() {}
+
+    // Getters and Setters
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    public String getThumbnailKey() {
+        return thumbnailKey;
+    }
+
+    public void setThumbnailKey(String thumbnailKey) {
+        this.thumbnailKey = thumbnailKey;
+    }
+
+    public Boolean getThumbnailFailed() {
+        return thumbnailFailed;
+    }
+
+    public void setThumbnailFailed(Boolean thumbnailFailed) {
+        this.thumbnailFailed = thumbnailFailed;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "registrations")
+@Table(name = "registrations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_registration_user_event", columnNames = {"user_id", "event_id"}))
 public class Registration {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
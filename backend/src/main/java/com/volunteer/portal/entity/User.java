@@ -1,6 +1,8 @@
 package com.volunteer.portal.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
@@ -28,6 +30,14 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Bumped to revoke every token issued so far; tokens carry the version they were issued with
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private Integer tokenVersion = 0;
+
+    @Column(name = "tokens_revoked_at")
+    private LocalDateTime tokensRevokedAt;
+
     public User() {
         this.totalPoints = 0;
         this.createdAt = LocalDateTime.now();
@@ -99,4 +109,20 @@ public class User {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public LocalDateTime getTokensRevokedAt() {
+        return tokensRevokedAt;
+    }
+
+    public void setTokensRevokedAt(LocalDateTime tokensRevokedAt) {
+        this.tokensRevokedAt = tokensRevokedAt;
+    }
 }
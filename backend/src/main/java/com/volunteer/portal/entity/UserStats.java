@@ -0,0 +1,71 @@
+package com.volunteer.portal.entity;
+
+import jakarta.persistence.*;
+
+// Dashboard counters for one volunteer, kept in step with registrations and proofs by the write paths
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Registrations still in APPLIED state
+    @Column(name = "applied_events", nullable = false)
+    private Long appliedEvents = 0L;
+
+    // Approved proofs
+    @Column(name = "completed_events", nullable = false)
+    private Long completedEvents = 0L;
+
+    // Rejected proofs
+    @Column(name = "rejected_events", nullable = false)
+    private Long rejectedEvents = 0L;
+
+    // Sum of points awarded on approved proofs
+    @Column(name = "total_points", nullable = false)
+    private Integer totalPoints = 0;
+
+    public UserStats() {}
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getAppliedEvents() {
+        return appliedEvents;
+    }
+
+    public void setAppliedEvents(Long appliedEvents) {
+        this.appliedEvents = appliedEvents;
+    }
+
+    public Long getCompletedEvents() {
+        return completedEvents;
+    }
+
+    public void setCompletedEvents(Long completedEvents) {
+        this.completedEvents = completedEvents;
+    }
+
+    public Long getRejectedEvents() {
+        return rejectedEvents;
+    }
+
+    public void setRejectedEvents(Long rejectedEvents) {
+        this.rejectedEvents = rejectedEvents;
+    }
+
+    public Integer getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(Integer totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+}
@@ -0,0 +1,18 @@
+package com.volunteer.portal.exception;
+
+/**
+ * Thrown when a bounded worker pool is saturated; answered with 503 and a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
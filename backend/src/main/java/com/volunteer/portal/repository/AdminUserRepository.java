@@ -1,15 +1,39 @@
 package com.volunteer.portal.repository;
 
 import com.volunteer.portal.entity.AdminUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface AdminUserRepository extends JpaRepository<AdminUser, Long> {
+    // Looked up on every admin request; results come from the query cache until admin_users changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AdminUser> findByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AdminUser> findByUsername(String username);
+
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    // Bulk HQL, so Hibernate also evicts the cached AdminUser and query results
+    @Transactional
+    @Modifying
+    @Query("UPDATE AdminUser a SET a.tokenVersion = a.tokenVersion + 1, a.tokensRevokedAt = :now WHERE a.email = :email")
+    int revokeTokens(@Param("email") String email, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AdminUser a SET a.password = :password WHERE a.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
\ No newline at end of file
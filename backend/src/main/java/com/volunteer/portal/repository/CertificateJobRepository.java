@@ -0,0 +1,59 @@
+package com.volunteer.portal.repository;
+
+import com.volunteer.portal.entity.CertificateJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CertificateJobRepository extends JpaRepository<CertificateJob, Long> {
+    Optional<CertificateJob> findByProofId(Long proofId);
+
+    // Row: proof id, job status
+    @Query("SELECT j.proofId, j.status FROM CertificateJob j WHERE j.proofId IN :proofIds")
+    List<Object[]> findStatusesByProofIds(@Param("proofIds") Collection<Long> proofIds);
+
+    @Query("SELECT j.proofId FROM CertificateJob j WHERE j.proofId IN :proofIds")
+    List<Long> findProofIdsWithJobs(@Param("proofIds") Collection<Long> proofIds);
+
+    @Query("SELECT j.id FROM CertificateJob j WHERE j.status = 'PENDING' AND j.nextAttemptAt <= :now " +
+           "ORDER BY j.nextAttemptAt ASC")
+    List<Long> findDueJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Only one worker, on any node, can move a job from PENDING to RUNNING
+    @Transactional
+    @Modifying
+    @Query("UPDATE CertificateJob j SET j.status = 'RUNNING', j.attempts = j.attempts + 1, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = 'PENDING' AND j.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Records a worker's outcome only if its claim still stands: a requeue or a stale release
+    // in the meantime resets status, attempts or updatedAt, and then the late result is dropped
+    @Transactional
+    @Modifying
+    @Query("UPDATE CertificateJob j SET j.status = :status, j.lastError = :lastError, " +
+           "j.nextAttemptAt = :nextAttemptAt, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = 'RUNNING' AND j.attempts = :attempts AND j.updatedAt = :claimedAt")
+    int finish(@Param("id") Long id,
+               @Param("attempts") Integer attempts,
+               @Param("claimedAt") LocalDateTime claimedAt,
+               @Param("status") CertificateJob.JobStatus status,
+               @Param("lastError") String lastError,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE CertificateJob j SET j.status = 'PENDING', j.updatedAt = :now " +
+           "WHERE j.status = 'RUNNING' AND j.updatedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+}
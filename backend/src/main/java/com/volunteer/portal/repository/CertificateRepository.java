@@ -2,12 +2,33 @@ package com.volunteer.portal.repository;
 
 import com.volunteer.portal.entity.Certificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, Long> {
     Optional<Certificate> findByCertificateId(String certificateId);
     Optional<Certificate> findByProofId(Long proofId);
+
+    // Row: proof id, certificateId
+    @Query("SELECT c.proof.id, c.certificateId FROM Certificate c WHERE c.proof.id IN :proofIds")
+    List<Object[]> findCertificateIdsByProofIds(@Param("proofIds") Collection<Long> proofIds);
+
+    @Query("SELECT c.certificateId FROM Certificate c")
+    List<String> findAllCertificateIds();
+
+    @Query("SELECT c.certificateId FROM Certificate c WHERE c.issuedAt >= :since")
+    List<String> findCertificateIdsIssuedSince(@Param("since") LocalDateTime since);
+
+    // Row: certificateId, volunteer name, event title, issuedAt, points awarded
+    @Query("SELECT c.certificateId, u.name, e.title, c.issuedAt, p.pointsAwarded " +
+           "FROM Certificate c JOIN c.user u JOIN c.event e JOIN c.proof p " +
+           "WHERE c.certificateId = :certificateId")
+    List<Object[]> findVerificationRow(@Param("certificateId") String certificateId);
 }
@@ -1,23 +1,86 @@
 package com.volunteer.portal.repository;
 
 import com.volunteer.portal.entity.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e ORDER BY e.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.List<Event> findAllOrderByCreatedAtDesc();
 
     @Query("SELECT COUNT(e) FROM Event e")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Long countEvents();
 
     @Query("SELECT e.title, COUNT(r), e.points FROM Event e LEFT JOIN Registration r ON r.event.id = e.id " +
            "GROUP BY e.id, e.title, e.points ORDER BY COUNT(r) DESC")
     java.util.List<Object[]> findEventPopularity();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.List<Event> findByCategory(String category);
 
     java.util.List<Event> findByCreator(com.volunteer.portal.entity.AdminUser creator);
+
+    long countByCreator(com.volunteer.portal.entity.AdminUser creator);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = " +
+           "(SELECT COUNT(r) FROM Registration r WHERE r.event.id = e.id)")
+    int syncRegisteredCounts();
+
+    @Query("SELECT MIN(e.createdAt) FROM Event e")
+    LocalDateTime findEarliestCreatedAt();
+
+    // HQL rather than JDBC so the Event cache region is invalidated along with the rows
+    @Modifying
+    @Query("UPDATE Event e SET e.createdAt = :createdAt WHERE e.createdAt IS NULL")
+    int backfillCreatedAt(@Param("createdAt") LocalDateTime createdAt);
+
+    // Keyset pages over (createdAt, id); the limit is applied through Pageable
+    @Query("SELECT e FROM Event e WHERE " +
+           "(:category IS NULL OR e.category = :category) " +
+           "AND (:fromDate IS NULL OR e.eventDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR e.eventDate <= :toDate) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    java.util.List<Event> findFirstPage(@Param("category") String category,
+                                        @Param("fromDate") LocalDateTime fromDate,
+                                        @Param("toDate") LocalDateTime toDate,
+                                        Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE " +
+           "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+           "AND (:category IS NULL OR e.category = :category) " +
+           "AND (:fromDate IS NULL OR e.eventDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR e.eventDate <= :toDate) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    java.util.List<Event> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        @Param("category") String category,
+                                        @Param("fromDate") LocalDateTime fromDate,
+                                        @Param("toDate") LocalDateTime toDate,
+                                        Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE " +
+           "(e.createdAt > :createdAt OR (e.createdAt = :createdAt AND e.id > :id)) " +
+           "AND (:category IS NULL OR e.category = :category) " +
+           "AND (:fromDate IS NULL OR e.eventDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR e.eventDate <= :toDate) " +
+           "ORDER BY e.createdAt ASC, e.id ASC")
+    java.util.List<Event> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         @Param("category") String category,
+                                         @Param("fromDate") LocalDateTime fromDate,
+                                         @Param("toDate") LocalDateTime toDate,
+                                         Pageable pageable);
 }
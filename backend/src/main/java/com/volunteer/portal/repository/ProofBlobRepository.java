@@ -0,0 +1,42 @@
+package com.volunteer.portal.repository;
+
+import com.volunteer.portal.entity.ProofBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ProofBlobRepository extends JpaRepository<ProofBlob, String> {
+
+    @Query("SELECT b.storageKey FROM ProofBlob b WHERE b.sha256 = :sha256")
+    String findStorageKey(@Param("sha256") String sha256);
+
+    @Modifying
+    @Query("UPDATE ProofBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha256")
+    int incrementRefCount(@Param("sha256") String sha256);
+
+    @Modifying
+    @Query("UPDATE ProofBlob b SET b.refCount = b.refCount - 1 " +
+           "WHERE b.sha256 = :sha256 AND b.storageKey = :storageKey AND b.refCount > 0")
+    int decrementRefCount(@Param("sha256") String sha256, @Param("storageKey") String storageKey);
+
+    @Query("SELECT b.sha256 FROM ProofBlob b WHERE b.refCount > 0 AND b.thumbnailKey IS NULL AND b.thumbnailFailed = false " +
+           "AND b.contentType LIKE 'image/%' ORDER BY b.createdAt ASC")
+    List<String> findMissingThumbnails(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProofBlob b SET b.thumbnailKey = :thumbnailKey WHERE b.sha256 = :sha256")
+    int setThumbnailKey(@Param("sha256") String sha256, @Param("thumbnailKey") String thumbnailKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProofBlob b SET b.thumbnailFailed = true WHERE b.sha256 = :sha256")
+    int markThumbnailFailed(@Param("sha256") String sha256);
+}
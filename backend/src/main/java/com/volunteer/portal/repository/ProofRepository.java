@@ -2,11 +2,15 @@ package com.volunteer.portal.repository;
 
 import com.volunteer.portal.entity.Proof;
 import com.volunteer.portal.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,19 +18,95 @@ import java.util.Optional;
 public interface ProofRepository extends JpaRepository<Proof, Long> {
     List<Proof> findByUser(User user);
 
-    @Query("SELECT p FROM Proof p WHERE p.user = :user ORDER BY p.submittedAt DESC")
+    // Listing queries fetch user, event and coordinator with the proof so DTO assembly never lazy-loads per row
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event e JOIN FETCH e.creator " +
+           "WHERE p.user = :user ORDER BY p.submittedAt DESC")
     List<Proof> findByUserOrderBySubmittedAtDesc(@Param("user") User user);
     List<Proof> findByStatus(Proof.ProofStatus status);
 
     Optional<Proof> findByUserAndEvent(User user, com.volunteer.portal.entity.Event event);
 
     List<Proof> findByEventIn(List<com.volunteer.portal.entity.Event> events);
+
+    // Primary-key lookups only (proof -> event -> creator), so the cost does not grow with the admin's history
+    @Query("SELECT COUNT(p) > 0 FROM Proof p JOIN p.event e JOIN e.creator a " +
+           "WHERE p.id = :proofId AND a.email = :adminEmail")
+    boolean isOwnedByAdmin(@Param("proofId") Long proofId, @Param("adminEmail") String adminEmail);
+
+    // Row: proof id, status, user id, event id, event points; only proofs on events the admin created
+    @Query("SELECT p.id, p.status, p.user.id, e.id, e.points FROM Proof p JOIN p.event e " +
+           "WHERE p.id IN :ids AND e.creator.id = :adminId")
+    List<Object[]> findReviewRowsOwnedBy(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId);
+
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event WHERE p.id = :id")
+    Optional<Proof> findWithUserAndEventById(@Param("id") Long id);
     
     @Query("SELECT COUNT(p) FROM Proof p WHERE p.status = 'PENDING'")
     Long countPendingProofs();
+
+    @Query("SELECT COUNT(p) FROM Proof p WHERE p.status = 'PENDING' AND p.event.creator.id = :adminId")
+    Long countPendingByAdminId(@Param("adminId") Long adminId);
+
+    @Query("SELECT MIN(p.submittedAt) FROM Proof p")
+    LocalDateTime findEarliestSubmittedAt();
+
+    @Modifying
+    @Query("UPDATE Proof p SET p.submittedAt = :submittedAt WHERE p.submittedAt IS NULL")
+    int backfillSubmittedAt(@Param("submittedAt") LocalDateTime submittedAt);
+
+    // Review queue: keyset pages over (submittedAt, id), oldest first, for events the admin created
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event e JOIN FETCH e.creator a WHERE a.id = :adminId " +
+           "AND (:status IS NULL OR p.status = :status) " +
+           "AND (:eventId IS NULL OR e.id = :eventId) " +
+           "AND (:fromDate IS NULL OR p.submittedAt >= :fromDate) " +
+           "AND (:toDate IS NULL OR p.submittedAt <= :toDate) " +
+           "ORDER BY p.submittedAt ASC, p.id ASC")
+    List<Proof> findQueueFirstPage(@Param("adminId") Long adminId,
+                                   @Param("status") Proof.ProofStatus status,
+                                   @Param("eventId") Long eventId,
+                                   @Param("fromDate") LocalDateTime fromDate,
+                                   @Param("toDate") LocalDateTime toDate,
+                                   Pageable pageable);
+
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event e JOIN FETCH e.creator a WHERE a.id = :adminId " +
+           "AND (p.submittedAt > :submittedAt OR (p.submittedAt = :submittedAt AND p.id > :id)) " +
+           "AND (:status IS NULL OR p.status = :status) " +
+           "AND (:eventId IS NULL OR e.id = :eventId) " +
+           "AND (:fromDate IS NULL OR p.submittedAt >= :fromDate) " +
+           "AND (:toDate IS NULL OR p.submittedAt <= :toDate) " +
+           "ORDER BY p.submittedAt ASC, p.id ASC")
+    List<Proof> findQueuePageAfter(@Param("submittedAt") LocalDateTime submittedAt,
+                                   @Param("id") Long id,
+                                   @Param("adminId") Long adminId,
+                                   @Param("status") Proof.ProofStatus status,
+                                   @Param("eventId") Long eventId,
+                                   @Param("fromDate") LocalDateTime fromDate,
+                                   @Param("toDate") LocalDateTime toDate,
+                                   Pageable pageable);
+
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event e JOIN FETCH e.creator a WHERE a.id = :adminId " +
+           "AND (p.submittedAt < :submittedAt OR (p.submittedAt = :submittedAt AND p.id < :id)) " +
+           "AND (:status IS NULL OR p.status = :status) " +
+           "AND (:eventId IS NULL OR e.id = :eventId) " +
+           "AND (:fromDate IS NULL OR p.submittedAt >= :fromDate) " +
+           "AND (:toDate IS NULL OR p.submittedAt <= :toDate) " +
+           "ORDER BY p.submittedAt DESC, p.id DESC")
+    List<Proof> findQueuePageBefore(@Param("submittedAt") LocalDateTime submittedAt,
+                                    @Param("id") Long id,
+                                    @Param("adminId") Long adminId,
+                                    @Param("status") Proof.ProofStatus status,
+                                    @Param("eventId") Long eventId,
+                                    @Param("fromDate") LocalDateTime fromDate,
+                                    @Param("toDate") LocalDateTime toDate,
+                                    Pageable pageable);
     
-    @Query("SELECT p FROM Proof p ORDER BY p.submittedAt DESC")
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event e JOIN FETCH e.creator " +
+           "ORDER BY p.submittedAt DESC")
     List<Proof> findAllOrderedBySubmittedAt();
+
+    @Query("SELECT p FROM Proof p JOIN FETCH p.user JOIN FETCH p.event e JOIN FETCH e.creator a " +
+           "WHERE a.id = :adminId ORDER BY p.submittedAt DESC")
+    List<Proof> findByEventCreatorId(@Param("adminId") Long adminId);
     
     @Query("SELECT COUNT(p) FROM Proof p WHERE p.user.id = :userId AND p.status = 'APPROVED'")
     Long countApprovedByUserId(@Param("userId") Long userId);
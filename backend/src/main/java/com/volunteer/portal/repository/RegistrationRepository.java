@@ -3,7 +3,9 @@ package com.volunteer.portal.repository;
 import com.volunteer.portal.entity.Registration;
 import com.volunteer.portal.entity.User;
 import com.volunteer.portal.entity.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,11 +17,18 @@ import java.util.Optional;
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     List<Registration> findByUser(User user);
 
-    @Query("SELECT r FROM Registration r WHERE r.user = :user ORDER BY r.registeredAt DESC")
+    @Query("SELECT r FROM Registration r JOIN FETCH r.event WHERE r.user = :user ORDER BY r.registeredAt DESC")
     List<Registration> findByUserOrderByRegisteredAtDesc(@Param("user") User user);
     List<Registration> findByEvent(Event event);
     
     Optional<Registration> findByUserAndEvent(User user, Event event);
+
+    // Locking read, so it also sees a registration committed after this transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT r FROM Registration r WHERE r.user = :user AND r.event = :event")
+    Optional<Registration> findByUserAndEventForShare(@Param("user") User user, @Param("event") Event event);
+
+    boolean existsByUserAndEvent(User user, Event event);
     
     @Query("SELECT r FROM Registration r WHERE r.user.id = :userId AND r.status = :status")
     List<Registration> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Registration.RegistrationStatus status);
@@ -36,6 +45,12 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     @Query("SELECT COUNT(r) FROM Registration r WHERE r.user.id = :userId AND r.status = 'REJECTED'")
     Long countRejectedByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId")
+    Long countByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT r.event.id, COUNT(r) FROM Registration r WHERE r.event.id IN :eventIds GROUP BY r.event.id")
+    List<Object[]> countByEventIds(@Param("eventIds") List<Long> eventIds);
+
     @Query("SELECT COUNT(r) FROM Registration r")
     Long countAllRegistrations();
 
@@ -2,9 +2,14 @@ package com.volunteer.portal.repository;
 
 import com.volunteer.portal.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +19,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1, u.tokensRevokedAt = :now WHERE u.email = :email")
+    int revokeTokens(@Param("email") String email, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
     
     @Query("SELECT u FROM User u")
     List<User> findAllUsers();
@@ -21,6 +36,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u ORDER BY u.totalPoints DESC, u.id ASC")
     List<User> findLeaderboard();
 
+    // Row: user id, total points as stored, even when a relative UPDATE left loaded entities stale
+    @Query("SELECT u.id, u.totalPoints FROM User u WHERE u.id IN :ids")
+    List<Object[]> findTotalPointsByIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(u) FROM User u")
     Long countUsers();
 
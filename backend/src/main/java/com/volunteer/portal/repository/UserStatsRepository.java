@@ -0,0 +1,31 @@
+package com.volunteer.portal.repository;
+
+import com.volunteer.portal.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    // Row: user id, counters (null if the reconciliation has not reached the account yet); empty if no such user
+    @Query("SELECT u.id, s FROM User u LEFT JOIN UserStats s ON s.userId = u.id WHERE u.email = :email")
+    List<Object[]> findUserIdAndStatsByEmail(@Param("email") String email);
+
+    // Relative update under the row lock, so concurrent writers for the same user never lose a delta
+    @Modifying
+    @Query("UPDATE UserStats s SET s.appliedEvents = s.appliedEvents + :applied, " +
+           "s.completedEvents = s.completedEvents + :completed, " +
+           "s.rejectedEvents = s.rejectedEvents + :rejected, " +
+           "s.totalPoints = s.totalPoints + :points " +
+           "WHERE s.userId = :userId")
+    int adjust(@Param("userId") Long userId,
+               @Param("applied") long applied,
+               @Param("completed") long completed,
+               @Param("rejected") long rejected,
+               @Param("points") int points);
+}
@@ -0,0 +1,22 @@
+package com.volunteer.portal.repository;
+
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    Optional<WaitlistEntry> findByUserAndEvent(User user, Event event);
+
+    // Locks the head of the queue so concurrent promotions never hand out the same entry
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WaitlistEntry> findFirstByEventOrderByJoinedAtAscIdAsc(Event event);
+
+    long countByEvent(Event event);
+}
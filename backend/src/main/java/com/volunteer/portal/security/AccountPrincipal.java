@@ -0,0 +1,53 @@
+package com.volunteer.portal.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * Principal loaded at login. Keeps the account details a token response needs, so the login
+ * does not have to look the account up a second time after authenticating it.
+ */
+public class AccountPrincipal extends User {
+
+    // Copied out rather than keeping the Identity, so erasing credentials really drops the hash
+    private final String role;
+    private final Long id;
+    private final String name;
+    private final int tokenVersion;
+
+    public AccountPrincipal(IdentityResolver.Identity identity) {
+        this(identity.getEmail(), identity.getPasswordHash(), identity.getRole(), identity.getId(),
+                identity.getName(), identity.getTokenVersion());
+    }
+
+    private AccountPrincipal(String email, String passwordHash, String role, Long id, String name, int tokenVersion) {
+        super(email, passwordHash, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.role = role;
+        this.id = id;
+        this.name = name;
+        this.tokenVersion = tokenVersion;
+    }
+
+    // Same account after its password was re-encoded
+    public AccountPrincipal withPassword(String passwordHash) {
+        return new AccountPrincipal(getUsername(), passwordHash, role, id, name, tokenVersion);
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
@@ -0,0 +1,162 @@
+package com.volunteer.portal.security;
+
+import com.volunteer.portal.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The application's PasswordEncoder. BCrypt runs on a small pool sized to the CPU instead of on
+ * whichever request thread asked, so a login burst cannot occupy the whole Tomcat pool with hashing.
+ * Once the pool's queue is full, further logins and registrations get 503 with Retry-After straight
+ * away instead of piling up, and a request that has waited max-wait-ms for its hash gives up the same
+ * way, so a request thread is never parked on the pool for longer than that. Hashes weaker than
+ * security.bcrypt.strength are re-encoded on the next successful login (see
+ * CustomUserDetailsService#updatePassword); the startup log reports the measured cost of one hash
+ * to tune the strength against.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int strength;
+
+    // 0 = one thread per available processor
+    @Value("${security.bcrypt.threads:0}")
+    private int threads;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int queueCapacity;
+
+    // Upper bound on queueing plus hashing for one request thread
+    @Value("${security.bcrypt.max-wait-ms:3000}")
+    private long maxWaitMillis;
+
+    @Value("${security.bcrypt.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    private BCryptPasswordEncoder delegate;
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        delegate = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        rejected = Counter.builder("auth.password.hash.rejected")
+                .description("Hashing requests turned away because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queued", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // One hash on the pool, so the log shows what the configured strength costs on this host
+    @EventListener(ApplicationReadyEvent.class)
+    public void logCalibration() {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            delegate.encode("calibration");
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("BCrypt strength {} costs {} ms per hash; {} threads sustain about {} logins/s",
+                    strength, millis, executor.getCorePoolSize(),
+                    millis > 0 ? executor.getCorePoolSize() * 1000 / millis : "many");
+        });
+    }
+
+    /* =======================
+       PASSWORD ENCODER
+    ======================= */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    // True when the stored hash used a lower strength than configured. Skipped while the pool has
+    // no spare queue capacity, so a rehash never turns a correct login into a 503; a later login retries
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().remainingCapacity() > 0 && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        FutureTask<T> future = new FutureTask<>(() -> timer.recordCallable(task));
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Out of the queue if it has not started, so an abandoned request frees its slot at once
+            future.cancel(true);
+            executor.remove(future);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceBusyException busy() {
+        rejected.increment();
+        return new ServiceBusyException("Too many sign-in requests, please retry shortly", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,111 @@
+package com.volunteer.portal.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Resolves a login identifier (username or email, volunteer or admin) in a single round trip.
+ * Each UNION branch is an equality on one unique column, so every probe is an index lookup;
+ * priority keeps the old precedence: volunteer username, volunteer email, admin username, admin email.
+ * Emails are matched lowercase, the form registration stores them in.
+ */
+@Component
+public class IdentityResolver {
+
+    private static final String SELECT_IDENTITY =
+            "SELECT 0 AS priority, 'USER' AS role, id, name, email, password, token_version FROM users WHERE username = ? " +
+            "UNION ALL " +
+            "SELECT 1, 'USER', id, name, email, password, token_version FROM users WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT 2, 'ADMIN', id, name, email, password, token_version FROM admin_users WHERE username = ? " +
+            "UNION ALL " +
+            "SELECT 3, 'ADMIN', id, name, email, password, token_version FROM admin_users WHERE email = ? " +
+            "ORDER BY priority";
+
+    private static final String SELECT_CLASH =
+            "SELECT 0 AS clash FROM users WHERE email = ? " +
+            "UNION ALL SELECT 0 FROM admin_users WHERE email = ? " +
+            "UNION ALL SELECT 1 FROM users WHERE username = ? " +
+            "UNION ALL SELECT 1 FROM admin_users WHERE username = ? " +
+            "ORDER BY clash";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public enum Clash { EMAIL, USERNAME }
+
+    public static final class Identity {
+        private final String role;
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final String passwordHash;
+        private final int tokenVersion;
+
+        Identity(String role, Long id, String name, String email, String passwordHash, int tokenVersion) {
+            this.role = role;
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.passwordHash = passwordHash;
+            this.tokenVersion = tokenVersion;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPasswordHash() {
+            return passwordHash;
+        }
+
+        public int getTokenVersion() {
+            return tokenVersion;
+        }
+    }
+
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Best match for the identifier, or null if no account uses it
+    public Identity resolve(String identifier) {
+        String email = normalizeEmail(identifier);
+        List<Identity> matches = jdbcTemplate.query(SELECT_IDENTITY, (rs, rowNum) -> new Identity(
+                rs.getString("role"),
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                rs.getInt("token_version")
+        ), identifier, email, identifier, email);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    // Which of a new account's identifiers is already taken in either table; email wins ties
+    public Clash findClash(String email, String username) {
+        String normalizedEmail = normalizeEmail(email);
+        List<Integer> clashes = jdbcTemplate.queryForList(SELECT_CLASH, Integer.class,
+                normalizedEmail, normalizedEmail, username, username);
+        if (clashes.isEmpty()) {
+            return null;
+        }
+        return clashes.get(0) == 0 ? Clash.EMAIL : Clash.USERNAME;
+    }
+}
@@ -1,13 +1,17 @@
 package com.volunteer.portal.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +20,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -26,10 +31,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.stateless-auth:true}")
+    private boolean statelessAuth;
+
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
-        return path.startsWith("/api/auth/") ||
+        return path.equals("/api/auth/login") ||
+               path.equals("/api/auth/register") ||
                path.equals("/error") ||
                path.startsWith("/auth/");
     }
@@ -46,38 +61,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             final String authorizationHeader = request.getHeader("Authorization");
 
-            String username = null;
             String jwt = null;
 
             // Check if Authorization header exists and is properly formatted
             if (StringUtils.hasText(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
-                jwt = authorizationHeader.substring(7);
+                String token = authorizationHeader.substring(7);
 
                 // Only proceed if JWT is not null or empty
-                if (StringUtils.hasText(jwt) && !jwt.equals("null")) {
-                    try {
-                        username = jwtUtil.extractUsername(jwt);
-                    } catch (Exception e) {
-                        // Invalid JWT token - silently ignore and continue without authentication
-                        logger.debug("Invalid JWT token: " + e.getMessage());
-                    }
+                if (StringUtils.hasText(token) && !token.equals("null")) {
+                    jwt = token;
                 }
             }
 
-            // Only authenticate if we have a valid username and no existing authentication
-            if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                try {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                        usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-                    }
-                } catch (Exception e) {
-                    // User not found or other authentication error - silently ignore
-                    logger.debug("Authentication failed for user " + username + ": " + e.getMessage());
+            // Only authenticate if we have a token and no existing authentication
+            if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                String cacheKey = verifiedTokenCache.isEnabled() ? verifiedTokenCache.keyOf(jwt) : null;
+                UserDetails userDetails = cacheKey != null ? verifiedTokenCache.get(cacheKey) : null;
+
+                if (userDetails == null) {
+                    userDetails = verify(jwt, cacheKey);
+                }
+
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
                 }
             }
         } catch (Exception e) {
@@ -87,4 +96,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Full check of a token the cache could not vouch for; the result is cached when it succeeds
+    private UserDetails verify(String jwt, String cacheKey) {
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            // Signature and expiry are checked here, once per request
+            claims = jwtUtil.parseClaims(jwt);
+        } catch (Exception e) {
+            // Invalid JWT token - silently ignore and continue without authentication
+            logger.debug("Invalid JWT token: " + e.getMessage());
+            return null;
+        }
+        if (!StringUtils.hasText(claims.getSubject())) {
+            return null;
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = resolvePrincipal(claims);
+        } catch (Exception e) {
+            // User not found or other authentication error - silently ignore
+            logger.debug("Authentication failed for user " + claims.getSubject() + ": " + e.getMessage());
+            return null;
+        }
+        if (userDetails != null && cacheKey != null) {
+            verifiedTokenCache.put(cacheKey, claims, userDetails, System.nanoTime() - start);
+        }
+        return userDetails;
+    }
+
+    // Builds the principal from the signed claims; the database is only consulted for tokens
+    // without role/version claims, or when this node knows of a revocation newer than the token
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        Integer version = claims.get(JwtUtil.VERSION_CLAIM, Integer.class);
+
+        if (statelessAuth && role != null && version != null) {
+            Integer knownVersion = tokenRevocationRegistry.knownVersion(username);
+            if (knownVersion == null || knownVersion.equals(version)) {
+                return User.withUsername(username)
+                        .password("")
+                        .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
+                        .build();
+            }
+            if (version < knownVersion) {
+                return null;
+            }
+        }
+
+        // Tokens issued before versioning count as version 0
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        int tokenVersion = version != null ? version : 0;
+        return tokenRevocationRegistry.loadVersion(username) == tokenVersion ? userDetails : null;
+    }
 }
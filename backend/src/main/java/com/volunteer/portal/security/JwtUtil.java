@@ -1,85 +1,129 @@
 package com.volunteer.portal.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
+/**
+ * Signs and verifies JWTs. Keys and the parser are built once at startup; the parser is immutable
+ * and shared by all request threads. Tokens name their signing key in the "kid" header, so a new
+ * secret can be rolled out while tokens signed with the previous ones (jwt.previous-keys) stay
+ * valid until they expire. Tokens without a kid predate rotation and are checked with the current key.
+ */
 @Component
 public class JwtUtil {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.key-id:default}")
+    private String keyId;
+
+    // Verification-only keys as "kid=secret" pairs, comma separated
+    @Value("${jwt.previous-keys:}")
+    private String previousKeys;
+
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private Key signingKey;
+    private Map<String, Key> verificationKeys;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = hmacKey(secret);
+
+        Map<String, Key> keys = new HashMap<>();
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("jwt.previous-keys entries must look like kid=secret");
+            }
+            keys.put(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+        }
+        keys.put(keyId, signingKey);
+        verificationKeys = Map.copyOf(keys);
+
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            return signingKey;
+                        }
+                        Key key = verificationKeys.get(kid);
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key id: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    /* =======================
+       VERIFY
+    ======================= */
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies signature and expiry once; callers read every claim they need from the result
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
     }
 
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    // Expiry was already enforced by parseClaims
+    public boolean validateToken(Claims claims, String username) {
+        return claims.getSubject() != null && claims.getSubject().equals(username);
     }
 
-    public String generateToken(String username, String role) {
+    /* =======================
+       SIGN
+    ======================= */
+    public String generateToken(String username, String role, int tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
+        claims.put(ROLE_CLAIM, role);
+        claims.put(VERSION_CLAIM, tokenVersion);
         return createToken(claims, username);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    public Boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
-    }
 }
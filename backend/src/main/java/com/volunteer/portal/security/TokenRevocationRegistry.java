@@ -0,0 +1,121 @@
+package com.volunteer.portal.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of recent token revocations, so stateless authentication can trust a token's
+ * claims without a database read. Only accounts revoked within the token lifetime are tracked;
+ * any older revocation already outlived every token it applied to. Other nodes' revocations
+ * arrive through polling, so they take effect here within one poll interval.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private static final String SELECT_REVOKED_SINCE =
+            "SELECT email, token_version, tokens_revoked_at FROM users WHERE tokens_revoked_at > ? " +
+            "UNION ALL " +
+            "SELECT email, token_version, tokens_revoked_at FROM admin_users WHERE tokens_revoked_at > ?";
+
+    private static final String SELECT_VERSION =
+            "SELECT token_version, tokens_revoked_at FROM users WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT token_version, tokens_revoked_at FROM admin_users WHERE email = ?";
+
+    // Revocations are stamped with the writing node's clock; re-reading a margin absorbs skew between nodes
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime watermark;
+
+    private static final class Revocation {
+        final int version;
+        final LocalDateTime revokedAt;
+
+        Revocation(int version, LocalDateTime revokedAt) {
+            this.version = version;
+            this.revokedAt = revokedAt;
+        }
+    }
+
+    /* =======================
+       LOOKUP
+    ======================= */
+
+    // Current token version of an account revoked within the token lifetime; null if there is none
+    public Integer knownVersion(String email) {
+        Revocation revocation = revocations.get(email);
+        return revocation != null ? revocation.version : null;
+    }
+
+    // Authoritative version from the database, remembered for later requests; -1 if the account is gone
+    public int loadVersion(String email) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_VERSION, email, email);
+        if (rows.isEmpty()) {
+            return -1;
+        }
+        Map<String, Object> row = rows.get(0);
+        int version = ((Number) row.get("token_version")).intValue();
+        Timestamp revokedAt = (Timestamp) row.get("tokens_revoked_at");
+        if (revokedAt != null) {
+            record(email, version, revokedAt.toLocalDateTime());
+        }
+        return version;
+    }
+
+    /* =======================
+       REFRESH
+    ======================= */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentRevocations() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lifetimeStart = now.minusNanos(expiration * 1_000_000);
+        LocalDateTime since = watermark == null
+                ? lifetimeStart
+                : watermark.minusSeconds(POLL_OVERLAP_SECONDS);
+
+        try {
+            jdbcTemplate.query(SELECT_REVOKED_SINCE, rs -> {
+                record(rs.getString(1), rs.getInt(2), rs.getTimestamp(3).toLocalDateTime());
+            }, Timestamp.valueOf(since), Timestamp.valueOf(since));
+            watermark = now;
+        } catch (RuntimeException e) {
+            log.warn("Token revocation refresh failed: {}", e.getMessage());
+        }
+
+        // Tokens issued before these revocations have all expired by now
+        revocations.values().removeIf(revocation -> revocation.revokedAt.isBefore(lifetimeStart));
+    }
+
+    private void record(String email, int version, LocalDateTime revokedAt) {
+        revocations.merge(email, new Revocation(version, revokedAt),
+                (current, update) -> update.version > current.version ? update : current);
+    }
+}
@@ -0,0 +1,145 @@
+package com.volunteer.portal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived cache of bearer tokens that already passed verification, so clients firing many calls
+ * with the same token skip signature checking and principal resolution. Entries are keyed by a
+ * SHA-256 digest (the token itself is never stored), live at most jwt.token-cache.ttl-seconds and
+ * never past the token's own expiry. A hit is discarded as soon as the revocation registry knows of
+ * a newer token version for the account.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.token-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.token-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jwt.token-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Cache<String, Entry> cache;
+    private Timer verifyTimer;
+    private Counter timeSaved;
+
+    private static final class Entry {
+        final UserDetails principal;
+        final int tokenVersion;
+        final long expiresAtMillis;
+
+        Entry(UserDetails principal, int tokenVersion, long expiresAtMillis) {
+            this.principal = principal;
+            this.tokenVersion = tokenVersion;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(entry.expiresAtMillis - System.currentTimeMillis());
+                        return Math.max(0, Math.min(ttlNanos, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss} and friends
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-tokens");
+        Gauge.builder("jwt.token.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of bearer tokens served from the verified token cache")
+                .register(meterRegistry);
+        verifyTimer = Timer.builder("jwt.token.verify")
+                .description("Signature verification and principal resolution on a cache miss")
+                .register(meterRegistry);
+        timeSaved = Counter.builder("jwt.token.cache.time.saved")
+                .baseUnit("seconds")
+                .description("Estimated verification time avoided by cache hits")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String keyOf(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Cached principal for the token, or null if it has to be verified again
+    public UserDetails get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        Integer knownVersion = tokenRevocationRegistry.knownVersion(entry.principal.getUsername());
+        if (knownVersion != null && knownVersion != entry.tokenVersion) {
+            cache.invalidate(key);
+            return null;
+        }
+        timeSaved.increment(verifyTimer.mean(TimeUnit.SECONDS));
+        return entry.principal;
+    }
+
+    // verifyNanos is how long the miss took, from parsing the token to resolving the principal
+    public void put(String key, Claims claims, UserDetails principal, long verifyNanos) {
+        verifyTimer.record(verifyNanos, TimeUnit.NANOSECONDS);
+        Integer version = claims.get(JwtUtil.VERSION_CLAIM, Integer.class);
+        long expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().getTime()
+                : System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        // Tokens issued before versioning count as version 0
+        cache.put(key, new Entry(principal, version != null ? version : 0, expiresAt));
+    }
+}
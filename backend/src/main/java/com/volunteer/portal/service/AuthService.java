@@ -7,7 +7,10 @@ import com.volunteer.portal.entity.AdminUser;
 import com.volunteer.portal.entity.User;
 import com.volunteer.portal.repository.AdminUserRepository;
 import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.security.AccountPrincipal;
+import com.volunteer.portal.security.IdentityResolver;
 import com.volunteer.portal.security.JwtUtil;
+import com.volunteer.portal.security.TokenRevocationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +19,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 public class AuthService {
 
@@ -34,12 +39,26 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private IdentityResolver identityResolver;
+
     public AuthResponse register(RegisterRequest registerRequest) {
-        // Check if email exists in either table
-        if (userRepository.existsByEmail(registerRequest.getEmail()) || adminUserRepository.existsByEmail(registerRequest.getEmail())) {
+        // Email and username must be unused across both tables; one query checks all four
+        String email = IdentityResolver.normalizeEmail(registerRequest.getEmail());
+        IdentityResolver.Clash clash = identityResolver.findClash(email, registerRequest.getUsername());
+        if (clash == IdentityResolver.Clash.EMAIL) {
             throw new RuntimeException("Email already exists");
         }
-        if (userRepository.existsByUsername(registerRequest.getUsername()) || adminUserRepository.existsByUsername(registerRequest.getUsername())) {
+        if (clash == IdentityResolver.Clash.USERNAME) {
             throw new RuntimeException("Username already exists");
         }
 
@@ -50,12 +69,12 @@ public class AuthService {
             AdminUser adminUser = new AdminUser();
             adminUser.setName(registerRequest.getName());
             adminUser.setUsername(registerRequest.getUsername());
-            adminUser.setEmail(registerRequest.getEmail());
+            adminUser.setEmail(email);
             adminUser.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
 
             AdminUser savedAdminUser = adminUserRepository.save(adminUser);
 
-            String token = jwtUtil.generateToken(savedAdminUser.getEmail(), "ADMIN");
+            String token = jwtUtil.generateToken(savedAdminUser.getEmail(), "ADMIN", savedAdminUser.getTokenVersion());
 
             return new AuthResponse(token, "ADMIN", savedAdminUser.getId(),
                                     savedAdminUser.getName(), savedAdminUser.getEmail());
@@ -63,12 +82,14 @@ public class AuthService {
             User user = new User();
             user.setName(registerRequest.getName());
             user.setUsername(registerRequest.getUsername());
-            user.setEmail(registerRequest.getEmail());
+            user.setEmail(email);
             user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
 
             User savedUser = userRepository.save(user);
+            leaderboardIndex.upsertAfterCommit(savedUser);
+            userStatsService.createFor(savedUser.getId());
 
-            String token = jwtUtil.generateToken(savedUser.getEmail(), "USER");
+            String token = jwtUtil.generateToken(savedUser.getEmail(), "USER", savedUser.getTokenVersion());
 
             return new AuthResponse(token, "USER", savedUser.getId(),
                                     savedUser.getName(), savedUser.getEmail());
@@ -82,41 +103,20 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String loginIdentifier = loginRequest.getUsername();
-        String loginIdentifierLower = loginIdentifier.toLowerCase();
-
-        // Check User table first - try username, then email (case insensitive for email)
-        User user = null;
-        if (userRepository.existsByUsername(loginIdentifier)) {
-            user = userRepository.findByUsername(loginIdentifier)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        } else if (userRepository.existsByEmail(loginIdentifierLower)) {
-            user = userRepository.findByEmail(loginIdentifierLower)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        }
-
-        if (user != null) {
-            String token = jwtUtil.generateToken(user.getEmail(), "USER");
-            return new AuthResponse(token, "USER", user.getId(),
-                                    user.getName(), user.getEmail());
-        }
-
-        // Check AdminUser table - try username, then email (case insensitive for email)
-        AdminUser adminUser = null;
-        if (adminUserRepository.existsByUsername(loginIdentifier)) {
-            adminUser = adminUserRepository.findByUsername(loginIdentifier)
-                .orElseThrow(() -> new RuntimeException("Admin user not found"));
-        } else if (adminUserRepository.existsByEmail(loginIdentifierLower)) {
-            adminUser = adminUserRepository.findByEmail(loginIdentifierLower)
-                .orElseThrow(() -> new RuntimeException("Admin user not found"));
-        }
+        // Loaded by CustomUserDetailsService while authenticating; no second lookup needed
+        AccountPrincipal account = (AccountPrincipal) authentication.getPrincipal();
+        String token = jwtUtil.generateToken(account.getUsername(), account.getRole(), account.getTokenVersion());
+        return new AuthResponse(token, account.getRole(), account.getId(),
+                                account.getName(), account.getUsername());
+    }
 
-        if (adminUser != null) {
-            String token = jwtUtil.generateToken(adminUser.getEmail(), "ADMIN");
-            return new AuthResponse(token, "ADMIN", adminUser.getId(),
-                                    adminUser.getName(), adminUser.getEmail());
+    // Signs the account out everywhere: every token issued before now stops being accepted
+    public void revokeAllTokens(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = userRepository.revokeTokens(email, now) + adminUserRepository.revokeTokens(email, now);
+        if (updated == 0) {
+            throw new RuntimeException("Account not found");
         }
-
-        throw new RuntimeException("Invalid credentials");
+        tokenRevocationRegistry.loadVersion(email);
     }
 }
@@ -0,0 +1,273 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.entity.CertificateJob;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.repository.CertificateJobRepository;
+import com.volunteer.portal.repository.CertificateRepository;
+import com.volunteer.portal.repository.ProofRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable certificate pipeline. Approvals only insert a certificate_jobs row; rendering runs
+ * on a bounded worker pool outside any request transaction. The poller picks up jobs left
+ * behind by restarts, retries with backoff, and anything the pool rejected when full.
+ */
+@Service
+public class CertificateJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateJobService.class);
+
+    private static final String INSERT_JOB =
+            "INSERT INTO certificate_jobs (proof_id, status, attempts, next_attempt_at, created_at, updated_at) " +
+            "VALUES (?, 'PENDING', 0, ?, ?, ?)";
+
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private ProofRepository proofRepository;
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${certificates.jobs.workers:2}")
+    private int workers;
+
+    @Value("${certificates.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${certificates.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${certificates.jobs.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    @Value("${certificates.jobs.stale-after-seconds:600}")
+    private long staleAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A full queue is not an error: the job stays PENDING and the poller retries it
+                new ThreadPoolExecutor.DiscardPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    /* =======================
+       ENQUEUE
+    ======================= */
+
+    // Idempotent per proof; must run inside the approving transaction
+    public void enqueue(Long proofId) {
+        CertificateJob job = certificateJobRepository.findByProofId(proofId)
+                .orElseGet(() -> new CertificateJob(proofId));
+        if (job.getId() != null && job.getStatus() != CertificateJob.JobStatus.FAILED) {
+            return;
+        }
+        resetAndDispatch(job);
+    }
+
+    // Bulk variant of enqueue for freshly approved proofs: one JDBC batch insert, then one poll after commit
+    public void enqueueAll(Collection<Long> proofIds) {
+        if (proofIds.isEmpty()) {
+            return;
+        }
+        Set<Long> withJobs = new HashSet<>(certificateJobRepository.findProofIdsWithJobs(proofIds));
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (Long proofId : proofIds) {
+            if (withJobs.contains(proofId)) {
+                enqueue(proofId);
+            } else {
+                rows.add(new Object[]{proofId, now, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_JOB, rows);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatchDueJobs();
+                }
+            });
+        } else {
+            dispatchDueJobs();
+        }
+    }
+
+    // Forces a fresh render, e.g. after the admin deleted the old certificate
+    public void requeue(Long proofId) {
+        CertificateJob job = certificateJobRepository.findByProofId(proofId)
+                .orElseGet(() -> new CertificateJob(proofId));
+        resetAndDispatch(job);
+    }
+
+    public CertificateJob.JobStatus getStatus(Long proofId) {
+        return certificateJobRepository.findByProofId(proofId)
+                .map(CertificateJob::getStatus)
+                .orElse(null);
+    }
+
+    // Job status per proof id in one query; proofs without a job are absent from the map
+    public Map<Long, CertificateJob.JobStatus> getStatuses(Collection<Long> proofIds) {
+        Map<Long, CertificateJob.JobStatus> statuses = new HashMap<>();
+        if (proofIds.isEmpty()) {
+            return statuses;
+        }
+        for (Object[] row : certificateJobRepository.findStatusesByProofIds(proofIds)) {
+            statuses.put((Long) row[0], (CertificateJob.JobStatus) row[1]);
+        }
+        return statuses;
+    }
+
+    private void resetAndDispatch(CertificateJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(CertificateJob.JobStatus.PENDING);
+        job.setAttempts(0);
+        job.setLastError(null);
+        job.setNextAttemptAt(now);
+        job.setUpdatedAt(now);
+        Long jobId = certificateJobRepository.save(job).getId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(jobId);
+                }
+            });
+        } else {
+            dispatch(jobId);
+        }
+    }
+
+    private void dispatch(Long jobId) {
+        try {
+            executor.execute(() -> process(jobId));
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down; the job is still PENDING in the table
+        }
+    }
+
+    /* =======================
+       POLLER
+    ======================= */
+    @Scheduled(fixedDelayString = "${certificates.jobs.poll-interval-ms:15000}")
+    public void pollDueJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        certificateJobRepository.releaseStale(now.minusSeconds(staleAfterSeconds), now);
+        dispatchDueJobs();
+    }
+
+    private void dispatchDueJobs() {
+        int room = executor.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        for (Long jobId : certificateJobRepository.findDueJobIds(LocalDateTime.now(), PageRequest.of(0, room))) {
+            dispatch(jobId);
+        }
+    }
+
+    /* =======================
+       WORKER
+    ======================= */
+    private void process(Long jobId) {
+        if (certificateJobRepository.claim(jobId, LocalDateTime.now()) == 0) {
+            return; // Another worker owns it, or it is not due yet
+        }
+
+        CertificateJob job = certificateJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        CertificateJob.JobStatus status;
+        String lastError = null;
+        LocalDateTime nextAttemptAt = job.getNextAttemptAt();
+        try {
+            Long proofId = job.getProofId();
+            if (certificateRepository.findByProofId(proofId).isEmpty()) {
+                Proof proof = proofRepository.findWithUserAndEventById(proofId)
+                        .orElseThrow(() -> new RuntimeException("Proof not found"));
+                if (proof.getStatus() != Proof.ProofStatus.APPROVED) {
+                    throw new RuntimeException("Proof is not approved");
+                }
+                certificateService.generateCertificate(proof.getUser(), proof.getEvent(), proof);
+            }
+            status = CertificateJob.JobStatus.READY;
+        } catch (Exception e) {
+            log.warn("Certificate generation failed for proof {} (attempt {}): {}",
+                    job.getProofId(), job.getAttempts(), e.getMessage());
+            lastError = truncate(e.getMessage());
+            if (job.getAttempts() >= maxAttempts) {
+                status = CertificateJob.JobStatus.FAILED;
+            } else {
+                status = CertificateJob.JobStatus.PENDING;
+                // Linear backoff: 30s, 60s, 90s, ...
+                nextAttemptAt = LocalDateTime.now().plusSeconds(retryBackoffSeconds * job.getAttempts());
+            }
+        }
+
+        // Not a save of the detached job: that would overwrite a requeue that landed while rendering
+        int finished = certificateJobRepository.finish(jobId, job.getAttempts(), job.getUpdatedAt(),
+                status, lastError, nextAttemptAt, LocalDateTime.now());
+        if (finished == 0) {
+            log.info("Certificate job {} was requeued or released while running; result discarded", jobId);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -10,21 +10,27 @@ import com.volunteer.portal.entity.Event;
 import com.volunteer.portal.entity.Proof;
 import com.volunteer.portal.entity.User;
 import com.volunteer.portal.repository.CertificateRepository;
+import com.volunteer.portal.storage.BlobStore;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -33,8 +39,24 @@ public class CertificateService {
     @Autowired
     private CertificateRepository certificateRepository;
 
-    private static final String CERTIFICATES_DIR = "certificates/";
-    private static final String QR_DIR = "certificates/qr/";
+    @Autowired
+    private CertificateTemplate certificateTemplate;
+
+    @Autowired
+    private CertificateVerificationCache verificationCache;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    private static final String CERTIFICATES_PREFIX = "certificates/";
+    private static final int QR_CACHE_SIZE = 256;
+
+    private final Map<String, byte[]> qrPngCache = new LinkedHashMap<>(QR_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > QR_CACHE_SIZE;
+        }
+    };
 
     /* =====================================================
        PUBLIC API – GENERATE CERTIFICATE
@@ -45,108 +67,136 @@ public class CertificateService {
         String certificateId =
                 "CERT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
-        Files.createDirectories(Paths.get(CERTIFICATES_DIR));
-        Files.createDirectories(Paths.get(QR_DIR));
-
-        String qrFileName = generateQRCode(certificateId);
-        String pdfFileName = generatePDFCertificate(
-                user, event, proof, certificateId, qrFileName
-        );
+        BitMatrix qrMatrix = encodeQRCode(certificateId);
+        String storageKey = CERTIFICATES_PREFIX + certificateId + ".pdf";
+
+        // Rendered to a scratch file first so the blob store can stream it with a known length
+        Path pdf = Files.createTempFile("certificate-", ".pdf");
+        try {
+            generatePDFCertificate(user, event, proof, certificateId, qrMatrix, pdf);
+            try (InputStream in = Files.newInputStream(pdf)) {
+                blobStore.put(storageKey, in, Files.size(pdf), MediaType.APPLICATION_PDF_VALUE);
+            }
+        } finally {
+            Files.deleteIfExists(pdf);
+        }
 
         Certificate certificate = new Certificate(
                 certificateId,
                 user,
                 event,
                 proof,
-                "/certificates/" + pdfFileName
+                "/" + storageKey
         );
 
-        certificate.setQrCodeUrl("/certificates/qr/" + qrFileName);
-        return certificateRepository.save(certificate);
+        certificate.setQrCodeUrl("/api/certificates/qr/" + certificateId);
+        Certificate saved = certificateRepository.save(certificate);
+        // A Bloom filter tolerates an early add: at worst one extra DB lookup before the row is visible
+        verificationCache.registerIssued(certificateId);
+        return saved;
     }
 
     /* =====================================================
-       QR CODE GENERATION
+       QR CODE GENERATION (IN MEMORY)
     ===================================================== */
-    private String generateQRCode(String certificateId)
-            throws WriterException, IOException {
-
+    private BitMatrix encodeQRCode(String certificateId) throws WriterException {
         String data = "/api/certificates/verify/" + certificateId;
-        String fileName = certificateId + "_qr.png";
-        Path path = Paths.get(QR_DIR + fileName);
-
-        QRCodeWriter writer = new QRCodeWriter();
-        BitMatrix matrix = writer.encode(
-                data, BarcodeFormat.QR_CODE, 200, 200
-        );
+        // Size 0 yields one pixel per module plus the standard quiet zone
+        return new QRCodeWriter().encode(data, BarcodeFormat.QR_CODE, 0, 0);
+    }
 
-        MatrixToImageWriter.writeToPath(matrix, "PNG", path);
-        return fileName;
+    // Draws the matrix as vector rectangles, one per horizontal run of dark modules
+    private void drawQRCode(PdfContentByte canvas, BitMatrix matrix, float x, float y, float size) {
+        int modules = matrix.getWidth();
+        float moduleSize = size / modules;
+
+        canvas.saveState();
+        canvas.setColorFill(Color.WHITE);
+        canvas.rectangle(x, y, size, size);
+        canvas.fill();
+
+        canvas.setColorFill(Color.BLACK);
+        for (int row = 0; row < modules; row++) {
+            float rowY = y + (modules - 1 - row) * moduleSize;
+            int col = 0;
+            while (col < modules) {
+                if (!matrix.get(col, row)) {
+                    col++;
+                    continue;
+                }
+                int runStart = col;
+                while (col < modules && matrix.get(col, row)) {
+                    col++;
+                }
+                canvas.rectangle(x + runStart * moduleSize, rowY, (col - runStart) * moduleSize, moduleSize);
+            }
+        }
+        canvas.fill();
+        canvas.restoreState();
     }
 
-    /* =====================================================
-       HELPER: Load image from classpath (works in JAR)
-    ===================================================== */
-    private Image loadImageFromClasspath(String resourceName) throws IOException {
-        ClassPathResource resource = new ClassPathResource(resourceName);
-        InputStream is = resource.getInputStream();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        byte[] buffer = new byte[1024];
-        int bytesRead;
-        while ((bytesRead = is.read(buffer)) != -1) {
-            baos.write(buffer, 0, bytesRead);
+    // PNG for the QR endpoint, rendered on first request and kept in a small LRU cache
+    public byte[] getQRCodePng(String certificateId) throws WriterException, IOException {
+        synchronized (qrPngCache) {
+            byte[] cached = qrPngCache.get(certificateId);
+            if (cached != null) {
+                return cached;
+            }
         }
-        return Image.getInstance(baos.toByteArray());
+
+        getCertificateById(certificateId);
+
+        BitMatrix matrix = new QRCodeWriter().encode(
+                "/api/certificates/verify/" + certificateId, BarcodeFormat.QR_CODE, 200, 200
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatrixToImageWriter.writeToStream(matrix, "PNG", out);
+        byte[] png = out.toByteArray();
+
+        synchronized (qrPngCache) {
+            qrPngCache.put(certificateId, png);
+        }
+        return png;
     }
 
     /* =====================================================
        PDF CERTIFICATE (ACADEMIC DESIGN)
     ===================================================== */
-    private String generatePDFCertificate(
+    private void generatePDFCertificate(
             User user,
             Event event,
             Proof proof,
             String certificateId,
-            String qrCodePath
+            BitMatrix qrMatrix,
+            Path target
     ) throws DocumentException, IOException {
 
-        String fileName = certificateId + ".pdf";
-        String filePath = CERTIFICATES_DIR + fileName;
-
         Document document = new Document(PageSize.A4);
-        PdfWriter writer = PdfWriter.getInstance(
-                document, new FileOutputStream(filePath)
-        );
-        document.open();
+        try (OutputStream out = Files.newOutputStream(target)) {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            document.open();
 
-        PdfContentByte canvas = writer.getDirectContentUnder();
+            /* ---------------- BACKGROUND + BORDER ---------------- */
+            certificateTemplate.drawStaticLayer(writer);
 
-        /* ---------------- BACKGROUND ---------------- */
-        Rectangle bg = new Rectangle(
-                0, 0,
-                PageSize.A4.getWidth(),
-                PageSize.A4.getHeight()
-        );
-        bg.setBackgroundColor(new Color(10, 45, 90)); // navy blue
-        canvas.rectangle(bg);
-
-        /* ---------------- WHITE BORDER ---------------- */
-        Rectangle border = new Rectangle(
-                30, 30,
-                PageSize.A4.getWidth() - 30,
-                PageSize.A4.getHeight() - 30
-        );
-        border.setBorder(Rectangle.BOX);
-        border.setBorderWidth(6);
-        border.setBorderColor(Color.WHITE);
-        writer.getDirectContent().rectangle(border);
+            writeCertificateBody(document, user, event, proof, certificateId);
+
+            /* ---------------- QR CODE ---------------- */
+            drawQRCode(writer.getDirectContent(), qrMatrix, 470, 60, 80);
+            document.close();
+        }
+    }
+
+    private void writeCertificateBody(
+            Document document,
+            User user,
+            Event event,
+            Proof proof,
+            String certificateId
+    ) throws DocumentException, IOException {
 
         /* ---------------- TITLE ---------------- */
-        Font titleFont = FontFactory.getFont(
-                FontFactory.HELVETICA_BOLD,
-                26,
-                new Color(212, 175, 55)
-        );
+        Font titleFont = certificateTemplate.titleFont();
         Paragraph title = new Paragraph(
                 "CERTIFICATE OF\nVOLUNTEER SERVICE",
                 titleFont
@@ -157,11 +207,7 @@ public class CertificateService {
         document.add(title);
 
         /* ---------------- ORGANIZATION ---------------- */
-        Font orgFont = FontFactory.getFont(
-                FontFactory.HELVETICA,
-                14,
-                Color.WHITE
-        );
+        Font orgFont = certificateTemplate.orgFont();
         Paragraph org = new Paragraph(
                 "VOLUNTEER MANAGEMENT WING – I",
                 orgFont
@@ -171,11 +217,7 @@ public class CertificateService {
         document.add(org);
 
         /* ---------------- BODY ---------------- */
-        Font bodyFont = FontFactory.getFont(
-                FontFactory.HELVETICA,
-                13,
-                Color.WHITE
-        );
+        Font bodyFont = certificateTemplate.bodyFont();
 
         Paragraph certify = new Paragraph(
                 "THIS CERTIFIES THAT",
@@ -186,11 +228,7 @@ public class CertificateService {
         document.add(certify);
 
         /* ---------------- NAME ---------------- */
-        Font nameFont = FontFactory.getFont(
-                FontFactory.TIMES_BOLDITALIC,
-                26,
-                new Color(212, 175, 55)
-        );
+        Font nameFont = certificateTemplate.nameFont();
         Paragraph name = new Paragraph(user.getName(), nameFont);
         name.setAlignment(Element.ALIGN_CENTER);
         name.setSpacingAfter(20);
@@ -210,11 +248,7 @@ public class CertificateService {
         DateTimeFormatter fmt =
                 DateTimeFormatter.ofPattern("MMMM dd, yyyy");
 
-        Font detailFont = FontFactory.getFont(
-                FontFactory.HELVETICA,
-                11,
-                Color.WHITE
-        );
+        Font detailFont = certificateTemplate.detailFont();
 
         Paragraph details = new Paragraph(
         "Points Awarded: " + proof.getPointsAwarded() + "\n"
@@ -231,11 +265,8 @@ public class CertificateService {
         signTable.setWidthPercentage(70);
         signTable.setHorizontalAlignment(Element.ALIGN_CENTER);
 
-        Image signature = loadImageFromClasspath("signature1.png");
-        signature.scaleToFit(120, 60);
-
-        Image seal = loadImageFromClasspath("seal1.png");
-        seal.scaleToFit(80, 80);
+        Image signature = certificateTemplate.signature();
+        Image seal = certificateTemplate.seal();
 
         PdfPCell signCell = new PdfPCell(signature);
         signCell.setBorder(Rectangle.NO_BORDER);
@@ -250,18 +281,8 @@ public class CertificateService {
 
         document.add(signTable);
 
-        /* ---------------- QR CODE ---------------- */
-        Image qr = Image.getInstance(QR_DIR + qrCodePath);
-        qr.scaleToFit(80, 80);
-        qr.setAbsolutePosition(470, 60);
-        document.add(qr);
-
         /* ---------------- FOOTER ---------------- */
-        Font footerFont = FontFactory.getFont(
-                FontFactory.HELVETICA_OBLIQUE,
-                9,
-                Color.LIGHT_GRAY
-        );
+        Font footerFont = certificateTemplate.footerFont();
         Paragraph footer = new Paragraph(
                 "This certificate is system generated and can be verified online.",
                 footerFont
@@ -269,9 +290,6 @@ public class CertificateService {
         footer.setAlignment(Element.ALIGN_CENTER);
         footer.setSpacingBefore(40);
         document.add(footer);
-
-        document.close();
-        return fileName;
     }
 
     /* =====================================================
@@ -283,13 +301,40 @@ public class CertificateService {
                         new RuntimeException("Certificate not found"));
     }
 
+    // Returns null when the id is unknown; served from the verification read model
+    public CertificateVerificationCache.VerificationRecord verifyCertificate(String certificateId) {
+        return verificationCache.find(certificateId);
+    }
+
     public Certificate getCertificateByProofId(Long proofId) {
         return certificateRepository.findByProofId(proofId).orElse(null);
     }
 
-    public byte[] getCertificateFile(String certificateId) throws IOException {
-        Certificate cert = getCertificateById(certificateId);
-        Path path = Paths.get("." + cert.getCertificateUrl());
-        return Files.readAllBytes(path);
+    // Certificate id per proof id in one query; proofs without a certificate are absent from the map
+    public Map<Long, String> getCertificateIdsByProofIds(Collection<Long> proofIds) {
+        Map<Long, String> certificateIds = new HashMap<>();
+        if (proofIds.isEmpty()) {
+            return certificateIds;
+        }
+        for (Object[] row : certificateRepository.findCertificateIdsByProofIds(proofIds)) {
+            certificateIds.put((Long) row[0], (String) row[1]);
+        }
+        return certificateIds;
+    }
+
+    // Blob store key of the certificate PDF; certificateUrl keeps the historical "/certificates/<id>.pdf" form
+    public String getCertificateStorageKey(String certificateId) {
+        String url = getCertificateById(certificateId).getCertificateUrl();
+        return url.startsWith("/") ? url.substring(1) : url;
+    }
+
+    // Present when clients can download straight from storage instead of through this app
+    public Optional<String> getDirectDownloadUrl(String storageKey) {
+        return blobStore.directUrl(storageKey);
+    }
+
+    // Streamed by the caller; the file is never loaded onto the heap
+    public Resource openCertificate(String storageKey) throws IOException {
+        return blobStore.get(storageKey);
     }
 }
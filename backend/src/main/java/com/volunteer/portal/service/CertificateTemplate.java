@@ -0,0 +1,111 @@
+package com.volunteer.portal.service;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.Image;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfWriter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Static parts of the certificate design, built once at startup: decoded signature and seal
+ * images, fonts, and the navy background with its white border. Per-certificate rendering
+ * only stamps text and the QR code on top.
+ */
+@Component
+public class CertificateTemplate {
+
+    private static final Color NAVY = new Color(10, 45, 90);
+    private static final Color GOLD = new Color(212, 175, 55);
+
+    private final Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 26, GOLD);
+    private final Font orgFont = FontFactory.getFont(FontFactory.HELVETICA, 14, Color.WHITE);
+    private final Font bodyFont = FontFactory.getFont(FontFactory.HELVETICA, 13, Color.WHITE);
+    private final Font nameFont = FontFactory.getFont(FontFactory.TIMES_BOLDITALIC, 26, GOLD);
+    private final Font detailFont = FontFactory.getFont(FontFactory.HELVETICA, 11, Color.WHITE);
+    private final Font footerFont = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 9, Color.LIGHT_GRAY);
+
+    private final Rectangle background;
+    private final Rectangle border;
+
+    private Image signature;
+    private Image seal;
+
+    public CertificateTemplate() {
+        background = new Rectangle(0, 0, PageSize.A4.getWidth(), PageSize.A4.getHeight());
+        background.setBackgroundColor(NAVY);
+
+        border = new Rectangle(30, 30, PageSize.A4.getWidth() - 30, PageSize.A4.getHeight() - 30);
+        border.setBorder(Rectangle.BOX);
+        border.setBorderWidth(6);
+        border.setBorderColor(Color.WHITE);
+    }
+
+    @PostConstruct
+    public void loadAssets() throws IOException, BadElementException {
+        signature = loadImageFromClasspath("signature1.png");
+        signature.scaleToFit(120, 60);
+
+        seal = loadImageFromClasspath("seal1.png");
+        seal.scaleToFit(80, 80);
+    }
+
+    /* =====================================================
+       STATIC PAGE LAYER
+    ===================================================== */
+    public void drawStaticLayer(PdfWriter writer) {
+        writer.getDirectContentUnder().rectangle(background);
+        writer.getDirectContent().rectangle(border);
+    }
+
+    /* =====================================================
+       ASSETS
+    ===================================================== */
+
+    // Copies share the decoded image data, so callers can position them freely
+    public Image signature() throws BadElementException {
+        return Image.getInstance(signature);
+    }
+
+    public Image seal() throws BadElementException {
+        return Image.getInstance(seal);
+    }
+
+    public Font titleFont() {
+        return titleFont;
+    }
+
+    public Font orgFont() {
+        return orgFont;
+    }
+
+    public Font bodyFont() {
+        return bodyFont;
+    }
+
+    public Font nameFont() {
+        return nameFont;
+    }
+
+    public Font detailFont() {
+        return detailFont;
+    }
+
+    public Font footerFont() {
+        return footerFont;
+    }
+
+    private Image loadImageFromClasspath(String resourceName) throws IOException, BadElementException {
+        try (InputStream is = new ClassPathResource(resourceName).getInputStream()) {
+            return Image.getInstance(is.readAllBytes());
+        }
+    }
+}
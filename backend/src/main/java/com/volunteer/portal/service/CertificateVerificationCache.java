@@ -0,0 +1,347 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.repository.CertificateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read model behind the public verification endpoint. Valid certificates are kept as immutable
+ * records in a bounded LRU cache, and a Bloom filter of every issued id screens unknown ids.
+ * Other nodes issue certificates too, so the filter catches up with certificates issued since its
+ * last sync on a schedule, and a miss may trigger an early catch-up at most once per interval.
+ * A miss never waits for a sync in progress, so a flood of unknown ids is answered from memory.
+ * Records expire, which bounds how long a certificate deleted on another node stays valid here.
+ */
+@Component
+public class CertificateVerificationCache {
+
+    private static final DateTimeFormatter ISSUED_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public static final class VerificationRecord {
+        private final String certificateId;
+        private final String volunteerName;
+        private final String eventTitle;
+        private final String issuedDate;
+        private final Integer pointsAwarded;
+
+        VerificationRecord(String certificateId, String volunteerName, String eventTitle,
+                           String issuedDate, Integer pointsAwarded) {
+            this.certificateId = certificateId;
+            this.volunteerName = volunteerName;
+            this.eventTitle = eventTitle;
+            this.issuedDate = issuedDate;
+            this.pointsAwarded = pointsAwarded;
+        }
+
+        public String getCertificateId() {
+            return certificateId;
+        }
+
+        public String getVolunteerName() {
+            return volunteerName;
+        }
+
+        public String getEventTitle() {
+            return eventTitle;
+        }
+
+        public String getIssuedDate() {
+            return issuedDate;
+        }
+
+        public Integer getPointsAwarded() {
+            return pointsAwarded;
+        }
+    }
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Value("${certificates.verify.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${certificates.verify.expected-certificates:100000}")
+    private int expectedCertificates;
+
+    @Value("${certificates.verify.catch-up-interval-ms:1000}")
+    private long catchUpIntervalMillis;
+
+    @Value("${certificates.verify.record-ttl-ms:300000}")
+    private long recordTtlMillis;
+
+    // Certificates are stamped with the issuing node's clock before the row commits; re-reading a
+    // margin covers both clock skew and slow commits
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private volatile BloomFilter knownIds = new BloomFilter(1024);
+
+    // Guards filter swaps and syncs, so no registration lands in a filter that is being replaced
+    private final ReentrantLock filterLock = new ReentrantLock();
+    private volatile LocalDateTime syncedAt;
+    private volatile long syncStartedNanos;
+
+    private static final class CachedRecord {
+        final VerificationRecord record;
+        final long expiresAtNanos;
+
+        CachedRecord(VerificationRecord record, long expiresAtNanos) {
+            this.record = record;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final Map<String, CachedRecord> records = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedRecord> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadKnownIds() {
+        filterLock.lock();
+        try {
+            rebuildFilter(expectedCertificates);
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    // Picks up certificates issued on other nodes; the only sync that waits for the lock
+    @Scheduled(fixedDelayString = "${certificates.verify.sync-interval-ms:30000}")
+    public void syncIssued() {
+        filterLock.lock();
+        try {
+            sync();
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    /* =======================
+       LOOKUP
+    ======================= */
+
+    // Returns null for unknown ids
+    public VerificationRecord find(String certificateId) {
+        if (certificateId == null) {
+            return null;
+        }
+        if (!knownIds.mightContain(certificateId)) {
+            catchUpOnMiss();
+            if (!knownIds.mightContain(certificateId)) {
+                return null;
+            }
+        }
+
+        synchronized (records) {
+            CachedRecord cached = records.get(certificateId);
+            if (cached != null) {
+                if (System.nanoTime() - cached.expiresAtNanos < 0) {
+                    return cached.record;
+                }
+                records.remove(certificateId);
+            }
+        }
+
+        List<Object[]> rows = certificateRepository.findVerificationRow(certificateId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime issuedAt = (LocalDateTime) row[3];
+        VerificationRecord record = new VerificationRecord(
+                (String) row[0],
+                (String) row[1],
+                (String) row[2],
+                issuedAt != null ? issuedAt.format(ISSUED_DATE) : null,
+                (Integer) row[4]
+        );
+
+        synchronized (records) {
+            records.put(certificateId, new CachedRecord(record,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(recordTtlMillis)));
+        }
+        return record;
+    }
+
+    /* =======================
+       MAINTENANCE
+    ======================= */
+    public void registerIssued(String certificateId) {
+        filterLock.lock();
+        try {
+            BloomFilter filter = knownIds;
+            filter.put(certificateId);
+            if (filter.isSaturated()) {
+                rebuildFilter(filter.capacity() * 2);
+            }
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    // Evicts now and again after commit, so a read racing the delete cannot re-cache a stale record.
+    // Only this node's copy goes; other nodes drop theirs when the record expires
+    public void invalidate(String certificateId) {
+        evict(certificateId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(certificateId);
+                }
+            });
+        }
+    }
+
+    private void evict(String certificateId) {
+        synchronized (records) {
+            records.remove(certificateId);
+        }
+    }
+
+    // At most one catch-up per interval, and never a wait: while another thread syncs, or right after
+    // a sync, the miss is answered from the current filter
+    private void catchUpOnMiss() {
+        if (syncedAt != null && !catchUpDue()) {
+            return;
+        }
+        if (!filterLock.tryLock()) {
+            return;
+        }
+        try {
+            if (syncedAt == null || catchUpDue()) {
+                sync();
+            }
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    private boolean catchUpDue() {
+        return System.nanoTime() - syncStartedNanos >= TimeUnit.MILLISECONDS.toNanos(catchUpIntervalMillis);
+    }
+
+    // Adds certificates issued anywhere since the last sync; callers hold filterLock
+    private void sync() {
+        if (syncedAt == null) {
+            rebuildFilter(expectedCertificates);
+            return;
+        }
+        long startedNanos = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        BloomFilter filter = knownIds;
+        for (String id : certificateRepository.findCertificateIdsIssuedSince(
+                syncedAt.minusSeconds(SYNC_OVERLAP_SECONDS))) {
+            filter.put(id);
+        }
+        syncedAt = startedAt;
+        syncStartedNanos = startedNanos;
+        if (filter.isSaturated()) {
+            rebuildFilter(filter.capacity() * 2);
+        }
+    }
+
+    // Callers hold filterLock
+    private void rebuildFilter(int capacity) {
+        long startedNanos = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> ids = certificateRepository.findAllCertificateIds();
+        BloomFilter filter = new BloomFilter(Math.max(capacity, ids.size() * 2));
+        for (String id : ids) {
+            filter.put(id);
+        }
+        knownIds = filter;
+        syncedAt = startedAt;
+        syncStartedNanos = startedNanos;
+    }
+
+    /* =======================
+       BLOOM FILTER (~1% FPP)
+    ======================= */
+    private static final class BloomFilter {
+        private static final int HASHES = 7;
+        private static final int BITS_PER_ENTRY = 10;
+
+        private final int capacity;
+        private final int bitCount;
+        private final AtomicLongArray bits;
+        private final AtomicInteger inserted = new AtomicInteger();
+
+        BloomFilter(int capacity) {
+            this.capacity = Math.max(capacity, 1024);
+            this.bitCount = this.capacity * BITS_PER_ENTRY;
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        boolean isSaturated() {
+            return inserted.get() > capacity;
+        }
+
+        void put(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = bit >>> 6;
+                long mask = 1L << (bit & 63);
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+            inserted.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a 64 followed by a murmur3 finalizer for better bit dispersion
+        private static long hash64(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
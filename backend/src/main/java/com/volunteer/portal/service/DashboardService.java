@@ -2,17 +2,19 @@ package com.volunteer.portal.service;
 
 import com.volunteer.portal.dto.DashboardDto;
 import com.volunteer.portal.entity.AdminUser;
-import com.volunteer.portal.entity.User;
+import com.volunteer.portal.entity.UserStats;
 import com.volunteer.portal.repository.AdminUserRepository;
 import com.volunteer.portal.repository.EventRepository;
 import com.volunteer.portal.repository.ProofRepository;
 import com.volunteer.portal.repository.RegistrationRepository;
 import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.repository.UserStatsRepository;
 
-import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class DashboardService {
 
@@ -31,25 +33,41 @@ public class DashboardService {
     @Autowired
     private AdminUserRepository adminUserRepository;
 
-    public DashboardDto getUserDashboard(String userEmail) {
+    @Autowired
+    private UserStatsRepository userStatsRepository;
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public DashboardDto getUserDashboard(String userEmail) {
 
-        Long userId = user.getId();
+        // Account and its counters in one round trip
+        List<Object[]> rows = userStatsRepository.findUserIdAndStatsByEmail(userEmail);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+        Long userId = (Long) rows.get(0)[0];
 
+        // Cacheable query: repeat reads come from the query cache until an event is created or deleted
         Long totalEvents = eventRepository.countEvents();
-        Long appliedEvents = registrationRepository.countAppliedByUserId(userId);
-        Long completedEvents = proofRepository.countApprovedByUserId(userId);
-        Long rejectedEvents = proofRepository.countRejectedByUserId(userId);
-        Integer totalPoints = proofRepository.sumPointsByUserId(userId);
+
+        // Maintained counters; the row is only missing for accounts the reconciliation has not reached yet
+        UserStats stats = (UserStats) rows.get(0)[1];
+        if (stats == null) {
+            return new DashboardDto(
+                    totalEvents,
+                    registrationRepository.countAppliedByUserId(userId),
+                    proofRepository.countApprovedByUserId(userId),
+                    proofRepository.countRejectedByUserId(userId),
+                    proofRepository.sumPointsByUserId(userId),
+                    null,
+                    null
+            );
+        }
 
         return new DashboardDto(
                 totalEvents,
-                appliedEvents,
-                completedEvents,
-                rejectedEvents,
-                totalPoints,
+                stats.getAppliedEvents(),
+                stats.getCompletedEvents(),
+                stats.getRejectedEvents(),
+                stats.getTotalPoints(),
                 null,
                 null
         );
@@ -61,14 +79,10 @@ public class DashboardService {
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
         // Count events created by this admin
-        Long totalEvents = (long) eventRepository.findByCreator(admin).size();
+        Long totalEvents = eventRepository.countByCreator(admin);
 
         // Count pending proofs for events owned by this admin
-        List<com.volunteer.portal.entity.Event> adminEvents = eventRepository.findByCreator(admin);
-        Long pendingApprovals = proofRepository.findByEventIn(adminEvents)
-                .stream()
-                .filter(proof -> proof.getStatus() == com.volunteer.portal.entity.Proof.ProofStatus.PENDING)
-                .count();
+        Long pendingApprovals = proofRepository.countPendingByAdminId(admin.getId());
 
         // Total volunteers is global (not admin-specific)
         Long totalVolunteers = userRepository.countUsers();
@@ -1,21 +1,43 @@
 package com.volunteer.portal.service;
 
 import com.volunteer.portal.dto.EventDto;
+import com.volunteer.portal.dto.EventPageDto;
 import com.volunteer.portal.entity.AdminUser;
 import com.volunteer.portal.entity.Event;
 import com.volunteer.portal.entity.Registration;
 import com.volunteer.portal.entity.User;
+import com.volunteer.portal.entity.WaitlistEntry;
 import com.volunteer.portal.repository.AdminUserRepository;
 import com.volunteer.portal.repository.EventRepository;
 import com.volunteer.portal.repository.ProofRepository;
 import com.volunteer.portal.repository.RegistrationRepository;
 import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.repository.WaitlistRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,9 +59,97 @@ public class EventService {
     @Autowired
     private AdminUserRepository adminUserRepository;
 
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${events.waitlist.enabled:true}")
+    private boolean waitlistEnabled;
+
+    // Seat counter: the row lock taken by each UPDATE makes check-and-increment atomic. Plain JDBC on
+    // purpose: an HQL update of Event would evict the whole events cache region on every registration,
+    // and registered_count is never read through the (cached) entity
+    private static final String RESERVE_SEAT =
+            "UPDATE events SET registered_count = registered_count + 1 WHERE id = ? AND registered_count < max_volunteers";
+
+    private static final String RELEASE_SEAT =
+            "UPDATE events SET registered_count = registered_count - 1 WHERE id = ? AND registered_count > 0";
+
+    private static final String DELETE_DUPLICATE_REGISTRATIONS =
+            "DELETE FROM registrations WHERE id IN (SELECT id FROM (SELECT DISTINCT r.id FROM registrations r "
+                    + "JOIN registrations k ON k.user_id = r.user_id AND k.event_id = r.event_id AND k.id < r.id) dup)";
+
+    private static final String ADD_REGISTRATION_UNIQUE_KEY =
+            "ALTER TABLE registrations ADD CONSTRAINT uk_registration_user_event UNIQUE (user_id, event_id)";
+
+    public static final String REGISTERED = "REGISTERED";
+    public static final String WAITLISTED = "WAITLISTED";
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Fixed set, built once; never read from the database
+    private static final List<String> CATEGORIES = List.of(
+        "Community Service",
+        "Environmental",
+        "Health & Awareness",
+        "Education & Teaching",
+        "Blood Donation",
+        "Disaster Relief",
+        "Others"
+    );
+
     public List<EventDto> getAllEvents() {
         List<Event> events = eventRepository.findAllOrderByCreatedAtDesc();
-        return events.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(events);
+    }
+
+    public EventPageDto getEventPage(String cursor, Integer limit, String category,
+                                     LocalDateTime fromDate, LocalDateTime toDate) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String categoryFilter = (category == null || category.trim().isEmpty()) ? null : category;
+        // Fetch one extra row to learn whether another page exists
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Event> events;
+        boolean backwards = false;
+        if (cursor == null || cursor.trim().isEmpty()) {
+            events = eventRepository.findFirstPage(categoryFilter, fromDate, toDate, window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            backwards = position.isBackwards();
+            events = backwards
+                ? eventRepository.findPageBefore(position.getTimestamp(), position.getId(), categoryFilter, fromDate, toDate, window)
+                : eventRepository.findPageAfter(position.getTimestamp(), position.getId(), categoryFilter, fromDate, toDate, window);
+        }
+
+        boolean hasMore = events.size() > pageSize;
+        List<Event> page = new ArrayList<>(hasMore ? events.subList(0, pageSize) : events);
+        if (backwards) {
+            Collections.reverse(page);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!page.isEmpty()) {
+            Event first = page.get(0);
+            Event last = page.get(page.size() - 1);
+            boolean hasNext = backwards || hasMore;
+            boolean hasPrev = backwards ? hasMore : cursor != null && !cursor.trim().isEmpty();
+            if (hasNext) {
+                nextCursor = KeysetCursor.next(last.getCreatedAt(), last.getId());
+            }
+            if (hasPrev) {
+                prevCursor = KeysetCursor.previous(first.getCreatedAt(), first.getId());
+            }
+        }
+
+        return new EventPageDto(convertToDtos(page), nextCursor, prevCursor, pageSize);
     }
 
     public EventDto getEventById(Long id) {
@@ -87,6 +197,9 @@ public class EventService {
         event.setCategory(eventDto.getCategory());
 
         Event updatedEvent = eventRepository.save(event);
+        // A raised capacity opens seats for people already waiting
+        eventRepository.flush();
+        promoteFromWaitlist(updatedEvent);
         return convertToDto(updatedEvent);
     }
 
@@ -100,7 +213,7 @@ public class EventService {
         eventRepository.deleteById(id);
     }
 
-    public void registerForEvent(Long eventId, String userEmail) {
+    public String registerForEvent(Long eventId, String userEmail) {
         if (eventId == null) {
             throw new IllegalArgumentException("Event ID cannot be null");
         }
@@ -117,9 +230,35 @@ public class EventService {
         if (alreadyRegistered) {
             throw new RuntimeException("Already registered for this event");
         }
+        if (waitlistRepository.findByUserAndEvent(user, event).isPresent()) {
+            throw new RuntimeException("Already on the waitlist for this event");
+        }
+
+        if (reserveSeat(eventId) == 1) {
+            try {
+                registrationRepository.saveAndFlush(new Registration(user, event));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent request won the unique (user, event) race; the seat is rolled back with us
+                throw new RuntimeException("Already registered for this event");
+            }
+            userStatsService.registrationAdded(user.getId());
+            return REGISTERED;
+        }
 
-        Registration registration = new Registration(user, event);
-        registrationRepository.save(registration);
+        // A double submit can take the last seat while this request was blocked on the seat UPDATE;
+        // the locking read sees that registration, so the user is never both registered and waitlisted
+        if (registrationRepository.findByUserAndEventForShare(user, event).isPresent()) {
+            throw new RuntimeException("Already registered for this event");
+        }
+        if (!waitlistEnabled) {
+            throw new RuntimeException("Event is full");
+        }
+        try {
+            waitlistRepository.saveAndFlush(new WaitlistEntry(user, event));
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Already on the waitlist for this event");
+        }
+        return WAITLISTED;
     }
 
     public void unregisterFromEvent(Long eventId, String userEmail) {
@@ -136,12 +275,18 @@ public class EventService {
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        Registration registration = registrationRepository.findByUserAndEvent(user, event)
-            .orElseThrow(() -> new RuntimeException("Not registered for this event"));
+        // Rows left by an earlier double submit can hold both; leaving the event clears both
+        Optional<WaitlistEntry> waitlisted = waitlistRepository.findByUserAndEvent(user, event);
+        waitlisted.ifPresent(waitlistRepository::delete);
 
-        if (registration == null) {
+        Optional<Registration> registered = registrationRepository.findByUserAndEvent(user, event);
+        if (registered.isEmpty()) {
+            if (waitlisted.isPresent()) {
+                return;
+            }
             throw new RuntimeException("Not registered for this event");
         }
+        Registration registration = registered.get();
 
         // Check if user has any approved proofs for this event
         boolean hasApprovedProofs = proofRepository.findByUser(user)
@@ -164,6 +309,9 @@ public class EventService {
         }
 
         registrationRepository.delete(registration);
+        userStatsService.registrationRemoved(user.getId(), registration.getStatus());
+        jdbcTemplate.update(RELEASE_SEAT, eventId);
+        promoteFromWaitlist(event);
     }
 
     public List<EventDto> getRegisteredEvents(String userEmail) {
@@ -171,9 +319,10 @@ public class EventService {
             .orElseThrow(() -> new RuntimeException("User not found"));
 
         List<Registration> registrations = registrationRepository.findByUserOrderByRegisteredAtDesc(user);
-        return registrations.stream()
-            .map(reg -> convertToDto(reg.getEvent()))
+        List<Event> events = registrations.stream()
+            .map(Registration::getEvent)
             .collect(Collectors.toList());
+        return convertToDtos(events);
     }
 
     public List<EventDto> getEventsByCreator(String adminEmail) {
@@ -181,7 +330,7 @@ public class EventService {
             .orElseThrow(() -> new RuntimeException("Admin not found"));
 
         List<Event> events = eventRepository.findByCreator(creator);
-        return events.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(events);
     }
 
     public List<EventDto> getEventsByCategory(String category) {
@@ -190,19 +339,92 @@ public class EventService {
         }
 
         List<Event> events = eventRepository.findByCategory(category);
-        return events.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(events);
+    }
+
+    // ddl-auto only logs a failed ALTER, so on a schema holding duplicate sign-ups uk_registration_user_event
+    // was never created. Runs before the listeners that recount seats and stats from registrations.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUniqueRegistrations() {
+        if (hasUniqueRegistrationIndex()) {
+            return;
+        }
+        // Keeps each volunteer's first sign-up; DISTINCT materialises the derived table so MySQL accepts it
+        int removed = jdbcTemplate.update(DELETE_DUPLICATE_REGISTRATIONS);
+        jdbcTemplate.execute(ADD_REGISTRATION_UNIQUE_KEY);
+        if (!hasUniqueRegistrationIndex()) {
+            throw new IllegalStateException("registrations is missing uk_registration_user_event");
+        }
+        if (removed > 0) {
+            eventRepository.syncRegisteredCounts();
+        }
+    }
+
+    private boolean hasUniqueRegistrationIndex() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[] {"registrations", "REGISTRATIONS"}) {
+                Map<String, Set<String>> columnsByIndex = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                    while (rs.next()) {
+                        if (rs.getString("INDEX_NAME") != null && rs.getString("COLUMN_NAME") != null) {
+                            columnsByIndex.computeIfAbsent(rs.getString("INDEX_NAME"), k -> new HashSet<>())
+                                    .add(rs.getString("COLUMN_NAME").toLowerCase());
+                        }
+                    }
+                }
+                if (columnsByIndex.containsValue(Set.of("user_id", "event_id"))) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+
+    // Keeps registered_count in step with existing registrations, e.g. rows created before the column existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncRegisteredCounts() {
+        eventRepository.syncRegisteredCounts();
+    }
+
+    // Rows created before created_at was always set would drop out of keyset pages (NULL never compares);
+    // they are dated with the oldest event so they list last, in id order
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCreatedAt() {
+        LocalDateTime earliest = eventRepository.findEarliestCreatedAt();
+        eventRepository.backfillCreatedAt(earliest != null ? earliest : LocalDateTime.now());
     }
 
     public List<String> getAllCategories() {
-        return Arrays.asList(
-            "Community Service",
-            "Environmental",
-            "Health & Awareness",
-            "Education & Teaching",
-            "Blood Donation",
-            "Disaster Relief",
-            "Others"
-        );
+        return CATEGORIES;
+    }
+
+    private int reserveSeat(Long eventId) {
+        return jdbcTemplate.update(RESERVE_SEAT, eventId);
+    }
+
+    // Moves waitlisted users into free seats in FIFO order
+    private void promoteFromWaitlist(Event event) {
+        while (true) {
+            Optional<WaitlistEntry> next = waitlistRepository.findFirstByEventOrderByJoinedAtAscIdAsc(event);
+            if (next.isEmpty()) {
+                return;
+            }
+            WaitlistEntry entry = next.get();
+            if (registrationRepository.existsByUserAndEvent(entry.getUser(), event)) {
+                // Stale entry for someone who already has a seat; a duplicate insert would fail the whole
+                // transaction, including the unregister that freed this seat
+                waitlistRepository.delete(entry);
+                continue;
+            }
+            if (reserveSeat(event.getId()) == 0) {
+                return;
+            }
+            registrationRepository.save(new Registration(entry.getUser(), event));
+            userStatsService.registrationAdded(entry.getUser().getId());
+            waitlistRepository.delete(entry);
+        }
     }
 
     private void validateCategory(String category) {
@@ -217,7 +439,31 @@ public class EventService {
         }
     }
 
+    // Resolves registration counts for the whole list with one grouped COUNT query
+    private List<EventDto> convertToDtos(List<Event> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : registrationRepository.countByEventIds(eventIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+
+        return events.stream()
+            .map(event -> convertToDto(event, counts.getOrDefault(event.getId(), 0L)))
+            .collect(Collectors.toList());
+    }
+
     private EventDto convertToDto(Event event) {
+        long registeredCount = event.getId() != null
+            ? registrationRepository.countByEventId(event.getId())
+            : 0L;
+        return convertToDto(event, registeredCount);
+    }
+
+    private EventDto convertToDto(Event event, long registeredCount) {
         EventDto dto = new EventDto();
         dto.setId(event.getId());
         dto.setTitle(event.getTitle());
@@ -227,8 +473,6 @@ public class EventService {
         dto.setMaxVolunteers(event.getMaxVolunteers());
         dto.setCategory(event.getCategory() != null ? event.getCategory() : "Others");
         dto.setCreatedAt(event.getCreatedAt());
-
-        long registeredCount = registrationRepository.findByEvent(event).size();
         dto.setRegisteredVolunteers((int) registeredCount);
 
         return dto;
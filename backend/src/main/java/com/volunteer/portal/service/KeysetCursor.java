@@ -0,0 +1,65 @@
+package com.volunteer.portal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paged listing ordered by (timestamp, id): "direction|timestamp|id",
+ * URL-safe Base64 encoded. Shared by the event listing and the proof review queue.
+ */
+final class KeysetCursor {
+
+    private static final String NEXT = "n";
+    private static final String PREV = "p";
+
+    private final boolean backwards;
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    private KeysetCursor(boolean backwards, LocalDateTime timestamp, Long id) {
+        this.backwards = backwards;
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    static String next(LocalDateTime timestamp, Long id) {
+        return encode(NEXT, timestamp, id);
+    }
+
+    static String previous(LocalDateTime timestamp, Long id) {
+        return encode(PREV, timestamp, id);
+    }
+
+    private static String encode(String direction, LocalDateTime timestamp, Long id) {
+        String raw = direction + "|" + timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(NEXT.equals(parts[0]) || PREV.equals(parts[0]))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(PREV.equals(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    boolean isBackwards() {
+        return backwards;
+    }
+
+    LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,327 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.entity.User;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process ranked view of users ordered by (totalPoints DESC, id ASC), the same
+ * order as UserRepository.findLeaderboard(). Backed by a size-augmented treap, so
+ * inserts, removals and rank lookups are O(log n) and a page costs O(log n + limit).
+ * Each node keeps its own copy; LeaderboardService rebuilds it from the database
+ * periodically so other nodes' writes are picked up.
+ */
+@Component
+public class LeaderboardIndex {
+
+    public static final class Entry {
+        private final Long userId;
+        private final String name;
+        private final String email;
+        private final int points;
+
+        Entry(Long userId, String name, String email, int points) {
+            this.userId = userId;
+            this.name = name;
+            this.email = email;
+            this.points = points;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+    }
+
+    private static final class Node {
+        final Entry entry;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Entry entry) {
+            this.entry = entry;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> byUserId = new HashMap<>();
+    private final Map<String, Long> userIdByEmail = new HashMap<>();
+    private Node root;
+
+    /* =======================
+       WRITES
+    ======================= */
+    public void rebuild(List<User> users) {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            byUserId.clear();
+            userIdByEmail.clear();
+            for (User user : users) {
+                put(toEntry(user));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(User user) {
+        Entry entry = toEntry(user);
+        lock.writeLock().lock();
+        try {
+            put(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applies the change only once the surrounding transaction commits, so rollbacks never leak into the index
+    public void upsertAfterCommit(User user) {
+        upsertAfterCommit(user, pointsOf(user));
+    }
+
+    // Same, with the total read back from the row after a relative UPDATE the entity has not seen
+    public void upsertAfterCommit(User user, int points) {
+        Entry entry = new Entry(user.getId(), user.getName(), user.getEmail(), points);
+        Runnable apply = () -> {
+            lock.writeLock().lock();
+            try {
+                put(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // Re-ranks an already indexed user whose points were changed outside the entity layer
+    public void updatePoints(Long userId, int points) {
+        lock.writeLock().lock();
+        try {
+            Entry current = byUserId.get(userId);
+            if (current != null && current.getPoints() != points) {
+                put(new Entry(userId, current.getName(), current.getEmail(), points));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* =======================
+       READS
+    ======================= */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns entries at ordinal positions [offset, offset + limit)
+    public List<Entry> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // Widened so a far-off offset plus the limit cannot wrap around to a negative end
+            int end = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            List<Entry> out = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+            collect(root, offset, end, 0, out);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 1-based ordinal rank, or null when the user is not indexed
+    public Integer rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byUserId.get(userId);
+            return entry == null ? null : rank(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Entry findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            Long userId = userIdByEmail.get(email);
+            return userId == null ? null : byUserId.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* =======================
+       TREAP INTERNALS
+    ======================= */
+    private static Entry toEntry(User user) {
+        return new Entry(user.getId(), user.getName(), user.getEmail(), pointsOf(user));
+    }
+
+    private static int pointsOf(User user) {
+        return user.getTotalPoints() != null ? user.getTotalPoints() : 0;
+    }
+
+    private void put(Entry entry) {
+        Entry previous = byUserId.put(entry.getUserId(), entry);
+        if (previous != null) {
+            root = erase(root, previous);
+            userIdByEmail.remove(previous.getEmail());
+        }
+        if (entry.getEmail() != null) {
+            userIdByEmail.put(entry.getEmail(), entry.getUserId());
+        }
+        root = insert(root, new Node(entry));
+    }
+
+    // Points descending, then user id ascending
+    private static int compare(Entry a, Entry b) {
+        int byPoints = Integer.compare(b.getPoints(), a.getPoints());
+        return byPoints != 0 ? byPoints : Long.compare(a.getUserId(), b.getUserId());
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (fresh.priority > node.priority) {
+            Node[] halves = split(node, fresh.entry);
+            fresh.left = halves[0];
+            fresh.right = halves[1];
+            update(fresh);
+            return fresh;
+        }
+        if (compare(fresh.entry, node.entry) < 0) {
+            node.left = insert(node.left, fresh);
+        } else {
+            node.right = insert(node.right, fresh);
+        }
+        update(node);
+        return node;
+    }
+
+    // Splits into nodes ordered before the key and nodes ordered after it
+    private static Node[] split(Node node, Entry key) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.entry, key) < 0) {
+            Node[] halves = split(node.right, key);
+            node.right = halves[0];
+            update(node);
+            return new Node[]{node, halves[1]};
+        }
+        Node[] halves = split(node.left, key);
+        node.left = halves[1];
+        update(node);
+        return new Node[]{halves[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node erase(Node node, Entry key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(key, node.entry);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = erase(node.left, key);
+        } else {
+            node.right = erase(node.right, key);
+        }
+        update(node);
+        return node;
+    }
+
+    private int rank(Entry key) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(key, node.entry);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return before + 1;
+    }
+
+    private static void collect(Node node, int from, int to, int base, List<Entry> out) {
+        if (node == null || base >= to || base + node.size <= from) {
+            return;
+        }
+        collect(node.left, from, to, base, out);
+        int index = base + size(node.left);
+        if (index >= from && index < to) {
+            out.add(node.entry);
+        }
+        collect(node.right, from, to, index + 1, out);
+    }
+}
@@ -1,13 +1,13 @@
 package com.volunteer.portal.service;
 
 import com.volunteer.portal.dto.LeaderboardDto;
-import com.volunteer.portal.entity.Proof;
-import com.volunteer.portal.entity.User;
-import com.volunteer.portal.repository.ProofRepository;
+import com.volunteer.portal.dto.RecalculationStatusDto;
 import com.volunteer.portal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,45 +19,78 @@ public class LeaderboardService {
     private UserRepository userRepository;
 
     @Autowired
-    private ProofRepository proofRepository;
+    private PointsRecalculationService pointsRecalculationService;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    // ✅ LOAD RANKED INDEX ONCE; WRITES KEEP IT CURRENT
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboardIndex() {
+        leaderboardIndex.rebuild(userRepository.findLeaderboard());
+    }
+
+    // The index only sees this node's writes; re-reading users.total_points brings in other nodes'
+    // approvals and recalculations. A write committed mid-rebuild may be undone until the next run.
+    @Scheduled(fixedDelayString = "${leaderboard.index.rebuild-interval-ms:60000}",
+               initialDelayString = "${leaderboard.index.rebuild-interval-ms:60000}")
+    public void reconcileLeaderboardIndex() {
+        leaderboardIndex.rebuild(userRepository.findLeaderboard());
+    }
 
     // ✅ ORDINAL RANKING (1,2,3,4...)
     public List<LeaderboardDto> getLeaderboard() {
+        return getLeaderboard(0, leaderboardIndex.size());
+    }
+
+    public List<LeaderboardDto> getLeaderboard(int offset, int limit) {
 
-        // MUST be ordered by points DESC
-        List<User> users = userRepository.findLeaderboard();
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+
+        // Index is ordered by points DESC, id ASC
+        List<LeaderboardIndex.Entry> entries = leaderboardIndex.page(offset, limit);
 
-        List<LeaderboardDto> leaderboard = new ArrayList<>();
+        List<LeaderboardDto> leaderboard = new ArrayList<>(entries.size());
 
-        for (int i = 0; i < users.size(); i++) {
-            User user = users.get(i);
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardIndex.Entry entry = entries.get(i);
 
             leaderboard.add(new LeaderboardDto(
-                    i + 1,                       // Ordinal rank: 1,2,3,4... (unique for each user)
-                    user.getName(),
-                    user.getTotalPoints()
+                    offset + i + 1,              // Ordinal rank: 1,2,3,4... (unique for each user)
+                    entry.getName(),
+                    entry.getPoints()
             ));
         }
 
         return leaderboard;
     }
 
-    // ✅ RECALCULATE POINTS
-    @Transactional
-    public void recalculateAllUserPoints() {
+    public LeaderboardDto getRank(String userEmail) {
+
+        LeaderboardIndex.Entry entry = leaderboardIndex.findByEmail(userEmail);
+        if (entry == null) {
+            throw new RuntimeException("User not found");
+        }
 
-        List<User> allUsers = userRepository.findAllUsers();
+        return new LeaderboardDto(
+                leaderboardIndex.rankOf(entry.getUserId()),
+                entry.getName(),
+                entry.getPoints()
+        );
+    }
 
-        for (User user : allUsers) {
-            List<Proof> userProofs = proofRepository.findByUser(user);
+    // ✅ RECALCULATE POINTS (set-based, chunked commits)
+    public int recalculateAllUserPoints() {
+        return pointsRecalculationService.recalculate();
+    }
 
-            int totalPoints = userProofs.stream()
-                    .filter(p -> p.getStatus() == Proof.ProofStatus.APPROVED)
-                    .mapToInt(p -> p.getPointsAwarded() != null ? p.getPointsAwarded() : 0)
-                    .sum();
+    public RecalculationStatusDto startRecalculationJob() {
+        return pointsRecalculationService.startBackgroundJob();
+    }
 
-            user.setTotalPoints(totalPoints);
-            userRepository.save(user);
-        }
+    public RecalculationStatusDto getRecalculationStatus(String jobId) {
+        return pointsRecalculationService.getJobStatus(jobId);
     }
 }
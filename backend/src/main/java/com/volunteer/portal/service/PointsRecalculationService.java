@@ -0,0 +1,239 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.dto.RecalculationStatusDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes users.total_points from approved proofs with one grouped aggregate per id range
+ * and writes back only the rows that differ, in JDBC batches. Each chunk commits on its own,
+ * so no lock on the users table is held for the whole run.
+ */
+@Service
+public class PointsRecalculationService {
+
+    // A NULL total never equals anything, so it is read as -1 (no real total is negative) and always rewritten
+    private static final String SELECT_DRIFTED_USERS =
+            "SELECT u.id, COALESCE(u.total_points, -1), COALESCE(SUM(p.points_awarded), 0) " +
+            "FROM users u LEFT JOIN proofs p ON p.user_id = u.id AND p.status = 'APPROVED' " +
+            "WHERE u.id >= ? AND u.id < ? " +
+            "GROUP BY u.id, u.total_points " +
+            "HAVING COALESCE(SUM(p.points_awarded), 0) <> COALESCE(u.total_points, -1)";
+
+    // Guarded on the value we read so a concurrent approval is never overwritten with a stale sum
+    private static final String UPDATE_POINTS =
+            "UPDATE users SET total_points = ? WHERE id = ? AND COALESCE(total_points, -1) = ?";
+
+    private static final int MAX_TRACKED_JOBS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${leaderboard.recalc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${leaderboard.recalc.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${leaderboard.recalc.parallelism:1}")
+    private int parallelism;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "points-recalc-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Job> runningJob = new AtomicReference<>();
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger chunksDone = new AtomicInteger();
+        final AtomicInteger usersUpdated = new AtomicInteger();
+        volatile int chunksTotal;
+        volatile String status = "RUNNING";
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        RecalculationStatusDto toDto() {
+            return new RecalculationStatusDto(id, status, chunksTotal, chunksDone.get(),
+                    usersUpdated.get(), startedAt, finishedAt, error);
+        }
+    }
+
+    /* =======================
+       ENTRY POINTS
+    ======================= */
+    public int recalculate() {
+        Job job = claim();
+        try {
+            run(job);
+            return job.usersUpdated.get();
+        } finally {
+            runningJob.compareAndSet(job, null);
+        }
+    }
+
+    public RecalculationStatusDto startBackgroundJob() {
+        Job job = claim();
+        jobExecutor.submit(() -> {
+            try {
+                run(job);
+            } catch (RuntimeException ignored) {
+                // Failure is recorded on the job
+            } finally {
+                runningJob.compareAndSet(job, null);
+            }
+        });
+        return job.toDto();
+    }
+
+    public RecalculationStatusDto getJobStatus(String jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            if (job == null) {
+                throw new RuntimeException("Recalculation job not found");
+            }
+            return job.toDto();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    /* =======================
+       ENGINE
+    ======================= */
+    private Job claim() {
+        Job job = new Job();
+        if (!runningJob.compareAndSet(null, job)) {
+            throw new RuntimeException("A points recalculation is already running");
+        }
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            if (jobs.size() > MAX_TRACKED_JOBS) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        try {
+            Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM users");
+            if (bounds.get("lo") == null) {
+                finish(job, "COMPLETED", null);
+                return;
+            }
+            long lo = ((Number) bounds.get("lo")).longValue();
+            long hi = ((Number) bounds.get("hi")).longValue();
+            int width = Math.max(chunkSize, 1);
+
+            List<long[]> ranges = new ArrayList<>();
+            for (long start = lo; start <= hi; start += width) {
+                ranges.add(new long[]{start, Math.min(start + width, hi + 1)});
+            }
+            job.chunksTotal = ranges.size();
+
+            if (parallelism <= 1 || ranges.size() == 1) {
+                for (long[] range : ranges) {
+                    recalculateRange(job, range[0], range[1]);
+                }
+            } else {
+                runParallel(job, ranges);
+            }
+            finish(job, "COMPLETED", null);
+        } catch (RuntimeException e) {
+            finish(job, "FAILED", e.getMessage());
+            throw e;
+        }
+    }
+
+    private void runParallel(Job job, List<long[]> ranges) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, ranges.size()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long[] range : ranges) {
+                futures.add(pool.submit(() -> recalculateRange(job, range[0], range[1])));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Points recalculation interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Points recalculation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void recalculateRange(Job job, long fromId, long toId) {
+        // One transaction per chunk: its batches commit or roll back together, and no lock outlives it
+        List<long[]> updated = new TransactionTemplate(transactionManager).execute(status -> {
+            // Each row: id, current total, recomputed total
+            List<long[]> drifted = jdbcTemplate.query(SELECT_DRIFTED_USERS,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)},
+                    fromId, toId);
+
+            List<long[]> written = new ArrayList<>();
+            for (int start = 0; start < drifted.size(); start += Math.max(batchSize, 1)) {
+                List<long[]> batch = drifted.subList(start, Math.min(start + Math.max(batchSize, 1), drifted.size()));
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE_POINTS, batch.stream()
+                        .map(row -> new Object[]{row[2], row[0], row[1]})
+                        .collect(Collectors.toList()));
+
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        written.add(batch.get(i));
+                    }
+                }
+            }
+            return written;
+        });
+
+        // Only committed totals reach the leaderboard
+        for (long[] row : updated) {
+            job.usersUpdated.incrementAndGet();
+            leaderboardIndex.updatePoints(row[0], (int) row[2]);
+        }
+        job.chunksDone.incrementAndGet();
+    }
+
+    private void finish(Job job, String status, String error) {
+        job.error = error;
+        job.finishedAt = LocalDateTime.now();
+        job.status = status;
+    }
+}
@@ -0,0 +1,265 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.entity.ProofBlob;
+import com.volunteer.portal.repository.ProofBlobRepository;
+import com.volunteer.portal.storage.BlobStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage for proof files. Each distinct SHA-256 is stored once under
+ * "uploads/<sha256>.<ext>" and reference counted in proof_blobs; every proof holds one reference.
+ * All methods must run inside the caller's transaction so the count and the proof row commit together.
+ * Files are only removed once that transaction has finished: a row whose count drops to zero is purged
+ * after commit (or by the sweeper), and a file uploaded by a transaction that rolls back is deleted again.
+ */
+@Service
+public class ProofBlobService {
+
+    private static final String UPLOAD_PREFIX = "uploads/";
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("[A-Za-z0-9]{1,10}");
+
+    // Plain JDBC so a duplicate-key race is a catchable statement error, not a rollback-only transaction
+    // Locking read: waits for a concurrent acquire that is inserting or reviving the same hash
+    private static final String LOCK_BLOB =
+            "SELECT storage_key, ref_count FROM proof_blobs WHERE sha256 = ? FOR UPDATE";
+
+    private static final String DELETE_UNREFERENCED =
+            "DELETE FROM proof_blobs WHERE sha256 = ? AND ref_count = 0";
+
+    private static final String FIND_UNREFERENCED =
+            "SELECT sha256 FROM proof_blobs WHERE ref_count = 0 ORDER BY created_at LIMIT ?";
+
+    private static final String INSERT_BLOB =
+            "INSERT INTO proof_blobs (sha256, storage_key, size_bytes, content_type, ref_count, thumbnail_failed, created_at) " +
+            "VALUES (?, ?, ?, ?, 1, FALSE, ?)";
+
+    @Autowired
+    private ProofBlobRepository proofBlobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ProofThumbnailService proofThumbnailService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${proofs.blobs.purge-batch-size:100}")
+    private int purgeBatchSize;
+
+    public static final class StoredBlob {
+        private final String sha256;
+        private final String storageKey;
+
+        StoredBlob(String sha256, String storageKey) {
+            this.sha256 = sha256;
+            this.storageKey = storageKey;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public String getStorageKey() {
+            return storageKey;
+        }
+    }
+
+    /* =======================
+       ACQUIRE / RELEASE
+    ======================= */
+
+    // Takes a reference on the file's content, uploading the bytes only if they are not stored yet
+    public StoredBlob acquire(MultipartFile file) throws IOException {
+        String sha256 = hash(file);
+
+        if (proofBlobRepository.incrementRefCount(sha256) == 0) {
+            String storageKey = UPLOAD_PREFIX + sha256 + extensionOf(file.getOriginalFilename());
+            try {
+                // Row first: a purge of the same hash holds the row lock until it has deleted the old
+                // blob and its row, so our upload below can never be removed from under us
+                jdbcTemplate.update(INSERT_BLOB, sha256, storageKey, file.getSize(),
+                        file.getContentType(), LocalDateTime.now());
+                try (InputStream in = file.getInputStream()) {
+                    blobStore.put(storageKey, in, file.getSize(), file.getContentType());
+                } catch (IOException e) {
+                    // Unchecked so the surrounding transaction rolls the new row back
+                    throw new RuntimeException("Failed to store proof file", e);
+                }
+                purgeOnRollback(sha256, storageKey);
+                proofThumbnailService.generateAfterCommit(sha256, file.getContentType());
+                return new StoredBlob(sha256, storageKey);
+            } catch (DuplicateKeyException e) {
+                // Someone stored the same bytes between our update and insert
+                proofBlobRepository.incrementRefCount(sha256);
+            }
+        }
+        return new StoredBlob(sha256, proofBlobRepository.findStorageKey(sha256));
+    }
+
+    // Drops one reference; the blob goes once the last one is gone and the caller has committed.
+    // False if the key is not content-addressed
+    public boolean release(String sha256, String storageKey) {
+        if (sha256 == null || storageKey == null
+                || proofBlobRepository.decrementRefCount(sha256, storageKey) == 0) {
+            return false;
+        }
+        afterCompletion(true, () -> purge(sha256, null));
+        return true;
+    }
+
+    // For per-upload files that predate content addressing; nothing else can reference their key
+    public void deleteAfterCommit(String storageKey) {
+        afterCompletion(true, () -> {
+            try {
+                blobStore.delete(storageKey);
+            } catch (IOException ignored) {
+                // Orphaned file; harmless
+            }
+        });
+    }
+
+    // Rows left at zero because a purge failed or the node stopped before running it
+    @Scheduled(fixedDelayString = "${proofs.blobs.purge-interval-ms:300000}")
+    public void sweepUnreferenced() {
+        for (String sha256 : jdbcTemplate.queryForList(FIND_UNREFERENCED, String.class, purgeBatchSize)) {
+            purge(sha256, null);
+        }
+    }
+
+    /* =======================
+       PURGE
+    ======================= */
+
+    // Deletes the files of an unreferenced (or, after a rollback, absent) row under the row lock, so an
+    // acquire of the same bytes waits and then re-uploads rather than losing its file to this delete
+    private void purge(String sha256, String uncommittedKey) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(LOCK_BLOB, sha256);
+            String storageKey = uncommittedKey;
+            if (!rows.isEmpty()) {
+                if (((Number) rows.get(0).get("ref_count")).intValue() > 0) {
+                    return;
+                }
+                storageKey = (String) rows.get(0).get("storage_key");
+            }
+            if (storageKey == null) {
+                return;
+            }
+            try {
+                blobStore.delete(storageKey);
+            } catch (IOException e) {
+                // Nothing deleted; row stays at zero and the sweeper retries
+                return;
+            }
+            // The file is gone, so the row goes too: a row left at zero could be revived by the next
+            // acquire of the same bytes and point a new proof at the missing file
+            jdbcTemplate.update(DELETE_UNREFERENCED, sha256);
+            try {
+                blobStore.delete(ProofThumbnailService.thumbnailKeyFor(sha256));
+            } catch (IOException | RuntimeException e) {
+                // Orphaned thumbnail; a re-upload of the same bytes regenerates it under the same key
+            }
+        });
+    }
+
+    private void purgeOnRollback(String sha256, String storageKey) {
+        afterCompletion(false, () -> purge(sha256, storageKey));
+    }
+
+    // Runs the action once the caller's transaction commits (or rolls back); immediately without one
+    private static void afterCompletion(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == (onCommit ? STATUS_COMMITTED : STATUS_ROLLED_BACK)) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /* =======================
+       DUPLICATE LOOKUP
+    ======================= */
+
+    // Blob rows for a page of proofs in one query; refCount > 1 means another proof has the same bytes
+    public Map<String, ProofBlob> findByHashes(Collection<String> hashes) {
+        Map<String, ProofBlob> blobs = new HashMap<>();
+        if (hashes.isEmpty()) {
+            return blobs;
+        }
+        for (ProofBlob blob : proofBlobRepository.findAllById(hashes)) {
+            blobs.put(blob.getSha256(), blob);
+        }
+        return blobs;
+    }
+
+    /* =======================
+       HELPERS
+    ======================= */
+
+    // Reads the container's spooled copy of the part; no bytes are buffered on the heap
+    private static String hash(MultipartFile file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1);
+        return filename.contains(".") && SAFE_EXTENSION.matcher(extension).matches()
+                ? "." + extension.toLowerCase()
+                : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
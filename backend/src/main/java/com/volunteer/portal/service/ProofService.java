@@ -1,10 +1,15 @@
 package com.volunteer.portal.service;
 
+import com.volunteer.portal.dto.BulkReviewRequest;
+import com.volunteer.portal.dto.BulkReviewResultDto;
 import com.volunteer.portal.dto.ProofDto;
+import com.volunteer.portal.dto.ProofPageDto;
 import com.volunteer.portal.entity.AdminUser;
 import com.volunteer.portal.entity.Certificate;
+import com.volunteer.portal.entity.CertificateJob;
 import com.volunteer.portal.entity.Event;
 import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.ProofBlob;
 import com.volunteer.portal.entity.Registration;
 import com.volunteer.portal.entity.User;
 import com.volunteer.portal.repository.AdminUserRepository;
@@ -13,18 +18,30 @@ import com.volunteer.portal.repository.EventRepository;
 import com.volunteer.portal.repository.ProofRepository;
 import com.volunteer.portal.repository.RegistrationRepository;
 import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.storage.BlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -55,7 +72,46 @@ public class ProofService {
     @Autowired
     private CertificateService certificateService;
 
-    private static final String UPLOAD_DIR = "uploads/";
+    @Autowired
+    private CertificateJobService certificateJobService;
+
+    @Autowired
+    private CertificateVerificationCache verificationCache;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ProofBlobService proofBlobService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String UPLOAD_PREFIX = "uploads/";
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String APPROVE_PROOF =
+            "UPDATE proofs SET status = 'APPROVED', reviewed_at = ?, points_awarded = ? WHERE id = ? AND status = 'PENDING'";
+
+    private static final String REJECT_PROOF =
+            "UPDATE proofs SET status = 'REJECTED', reviewed_at = ?, rejection_reason = ? WHERE id = ? AND status = 'PENDING'";
+
+    private static final String UPDATE_REGISTRATION_STATUS =
+            "UPDATE registrations SET status = ? WHERE user_id = ? AND event_id = ?";
+
+    private static final String ADD_USER_POINTS =
+            "UPDATE users SET total_points = total_points + ? WHERE id = ?";
+
+    @Value("${proofs.bulk-review.max-items:500}")
+    private int maxBulkReviewItems;
 
     /* =========================================================
        UPLOAD PROOF
@@ -79,28 +135,54 @@ public class ProofService {
                 .orElseThrow(() -> new RuntimeException("User not registered for this event"));
 
         // Handle existing proof safely
-        proofRepository.findByUserAndEvent(user, event)
-                .ifPresent(existing -> {
-                    Proof.ProofStatus status = existing.getStatus();
-
-                    if (status == Proof.ProofStatus.APPROVED) {
-                        throw new RuntimeException("Proof already approved for this event");
-                    }
-                    if (status == Proof.ProofStatus.PENDING) {
-                        throw new RuntimeException("Proof is pending review for this event");
-                    }
-                    proofRepository.delete(existing);
-                });
+        Optional<Proof> previous = proofRepository.findByUserAndEvent(user, event);
+        previous.ifPresent(existing -> {
+            Proof.ProofStatus status = existing.getStatus();
 
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        Path filePath = Paths.get(UPLOAD_DIR, fileName);
+            if (status == Proof.ProofStatus.APPROVED) {
+                throw new RuntimeException("Proof already approved for this event");
+            }
+            if (status == Proof.ProofStatus.PENDING) {
+                throw new RuntimeException("Proof is pending review for this event");
+            }
+        });
+
+        // New reference before the old one is dropped, so re-sending the same file after a rejection
+        // keeps the stored blob instead of deleting and uploading it again
+        ProofBlobService.StoredBlob blob = proofBlobService.acquire(file);
+
+        previous.ifPresent(existing -> {
+            releaseFile(existing);
+            proofRepository.delete(existing);
+            userStatsService.rejectedProofRemoved(user.getId());
+        });
+
+        // proof_url keeps the stable app path; presigned URLs are too long for the column and expire,
+        // so clients get a fresh one from convertToDto
+        Proof proof = new Proof(user, event, "/" + blob.getStorageKey());
+        proof.setStorageKey(blob.getStorageKey());
+        proof.setChecksumSha256(blob.getSha256());
+        return convertToDto(proofRepository.save(proof));
+    }
 
-        Files.createDirectories(filePath.getParent());
-        Files.write(filePath, file.getBytes());
+    // Content-addressed files are reference counted; older per-upload files are deleted outright.
+    // Either way the file only goes once this transaction has committed
+    private void releaseFile(Proof proof) {
+        if (!proofBlobService.release(proof.getChecksumSha256(), proof.getStorageKey())) {
+            String storageKey = storageKeyOf(proof);
+            if (storageKey != null) {
+                proofBlobService.deleteAfterCommit(storageKey);
+            }
+        }
+    }
 
-        String fullUrl = "https://volunteer-portal-skeu.onrender.com/uploads/" + fileName;
-        Proof proof = new Proof(user, event, fullUrl);
-        return convertToDto(proofRepository.save(proof));
+    // Proofs stored before the blob store only have the public URL, whose last segment is the file name
+    private static String storageKeyOf(Proof proof) {
+        if (proof.getStorageKey() != null) {
+            return proof.getStorageKey();
+        }
+        String url = proof.getProofUrl();
+        return url != null ? UPLOAD_PREFIX + url.substring(url.lastIndexOf('/') + 1) : null;
     }
 
     /* =========================================================
@@ -123,14 +205,7 @@ public class ProofService {
             throw new RuntimeException("Only pending proofs can be deleted");
         }
 
-        try {
-            if (proof.getProofUrl() != null) {
-                // Extract filename from full URL
-                String filename = proof.getProofUrl().substring(proof.getProofUrl().lastIndexOf('/') + 1);
-                Files.deleteIfExists(Paths.get(UPLOAD_DIR, filename));
-            }
-        } catch (Exception ignored) {}
-
+        releaseFile(proof);
         proofRepository.delete(proof);
     }
 
@@ -142,20 +217,14 @@ public class ProofService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return proofRepository.findByUserOrderBySubmittedAtDesc(user)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(proofRepository.findByUserOrderBySubmittedAtDesc(user));
     }
 
     /* =========================================================
        GET ALL PROOFS
     ========================================================= */
     public List<ProofDto> getAllProofs() {
-        return proofRepository.findAllOrderedBySubmittedAt()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToReviewDtos(proofRepository.findAllOrderedBySubmittedAt());
     }
 
     /* =========================================================
@@ -166,12 +235,87 @@ public class ProofService {
         AdminUser admin = adminUserRepository.findByEmail(adminEmail)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
-        List<Event> adminEvents = eventRepository.findByCreator(admin);
+        return convertToReviewDtos(proofRepository.findByEventCreatorId(admin.getId()));
+    }
 
-        return proofRepository.findByEventIn(adminEvents)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /* =========================================================
+       REVIEW QUEUE (ADMIN, KEYSET PAGED)
+    ========================================================= */
+    @Transactional(readOnly = true)
+    public ProofPageDto getReviewQueue(String adminEmail, String cursor, Integer limit, String status,
+                                       Long eventId, LocalDateTime fromDate, LocalDateTime toDate) {
+
+        AdminUser admin = adminUserRepository.findByEmail(adminEmail)
+                .orElseThrow(() -> new RuntimeException("Admin not found"));
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Proof.ProofStatus statusFilter = parseStatus(status);
+        // Fetch one extra row to learn whether another page exists
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Proof> proofs;
+        boolean backwards = false;
+        if (cursor == null || cursor.trim().isEmpty()) {
+            proofs = proofRepository.findQueueFirstPage(admin.getId(), statusFilter, eventId, fromDate, toDate, window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            backwards = position.isBackwards();
+            proofs = backwards
+                ? proofRepository.findQueuePageBefore(position.getTimestamp(), position.getId(), admin.getId(), statusFilter, eventId, fromDate, toDate, window)
+                : proofRepository.findQueuePageAfter(position.getTimestamp(), position.getId(), admin.getId(), statusFilter, eventId, fromDate, toDate, window);
+        }
+
+        boolean hasMore = proofs.size() > pageSize;
+        List<Proof> page = new ArrayList<>(hasMore ? proofs.subList(0, pageSize) : proofs);
+        if (backwards) {
+            Collections.reverse(page);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!page.isEmpty()) {
+            boolean hasNext = backwards || hasMore;
+            boolean hasPrev = backwards ? hasMore : cursor != null && !cursor.trim().isEmpty();
+            if (hasNext) {
+                Proof last = page.get(page.size() - 1);
+                nextCursor = KeysetCursor.next(last.getSubmittedAt(), last.getId());
+            }
+            if (hasPrev) {
+                Proof first = page.get(0);
+                prevCursor = KeysetCursor.previous(first.getSubmittedAt(), first.getId());
+            }
+        }
+
+        return new ProofPageDto(convertToReviewDtos(page), nextCursor, prevCursor, pageSize);
+    }
+
+    // Proofs stored before submitted_at was NOT NULL would drop out of the review queue's keyset pages;
+    // they are dated with the oldest proof so they stay at the front of the queue, in id order
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSubmittedAt() {
+        LocalDateTime earliest = proofRepository.findEarliestSubmittedAt();
+        proofRepository.backfillSubmittedAt(earliest != null ? earliest : LocalDateTime.now());
+    }
+
+    // "ALL" (or blank) lifts the status filter
+    private Proof.ProofStatus parseStatus(String status) {
+        if (status == null || status.trim().isEmpty() || "ALL".equalsIgnoreCase(status.trim())) {
+            return null;
+        }
+        try {
+            return Proof.ProofStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status");
+        }
+    }
+
+    /* =========================================================
+       OWNERSHIP
+    ========================================================= */
+    @Transactional(readOnly = true)
+    public boolean isOwnedByAdmin(Long proofId, String adminEmail) {
+        return proofId != null && adminEmail != null
+                && proofRepository.isOwnedByAdmin(proofId, adminEmail);
     }
 
     /* =========================================================
@@ -192,27 +336,34 @@ Proof proof = proofRepository.findById(id)
             throw new RuntimeException("Proof is not pending");
         }
 
+        // Same guarded UPDATE as bulk review: only one concurrent reviewer moves the proof off PENDING,
+        // and only that one goes on to credit points and touch the registration
+        LocalDateTime now = LocalDateTime.now();
+        Integer points = proof.getEvent().getPoints();
+        if (jdbcTemplate.update(APPROVE_PROOF, now, points, id) == 0) {
+            throw new RuntimeException("Proof is not pending");
+        }
         proof.setStatus(Proof.ProofStatus.APPROVED);
-        proof.setReviewedAt(LocalDateTime.now());
-        proof.setPointsAwarded(proof.getEvent().getPoints());
+        proof.setReviewedAt(now);
+        proof.setPointsAwarded(points);
 
         User user = proof.getUser();
-        user.setTotalPoints(user.getTotalPoints() + proof.getPointsAwarded());
-        userRepository.save(user);
+        addPoints(Map.of(user.getId(), proof.getPointsAwarded()));
 
-        registrationRepository.findByUserAndEvent(user, proof.getEvent())
-                .ifPresent(reg -> {
+        Registration.RegistrationStatus previousStatus = registrationRepository.findByUserAndEvent(user, proof.getEvent())
+                .map(reg -> {
+                    Registration.RegistrationStatus status = reg.getStatus();
                     reg.setStatus(Registration.RegistrationStatus.COMPLETED);
                     registrationRepository.save(reg);
-                });
+                    return status;
+                })
+                .orElse(null);
+        userStatsService.proofApproved(user.getId(), previousStatus, proof.getPointsAwarded());
 
         Proof savedProof = proofRepository.save(proof);
 
-        try {
-            certificateService.generateCertificate(user, proof.getEvent(), savedProof);
-        } catch (Exception e) {
-            System.err.println("Certificate generation failed: " + e.getMessage());
-        }
+        // Rendering happens on the certificate workers once this transaction commits
+        certificateJobService.enqueue(savedProof.getId());
 
         return convertToDto(savedProof);
     }
@@ -239,19 +390,154 @@ Proof proof = proofRepository.findById(id)
             throw new RuntimeException("Proof is not pending");
         }
 
+        LocalDateTime now = LocalDateTime.now();
+        if (jdbcTemplate.update(REJECT_PROOF, now, reason, id) == 0) {
+            throw new RuntimeException("Proof is not pending");
+        }
         proof.setStatus(Proof.ProofStatus.REJECTED);
-        proof.setReviewedAt(LocalDateTime.now());
+        proof.setReviewedAt(now);
         proof.setRejectionReason(reason);
 
-        registrationRepository.findByUserAndEvent(proof.getUser(), proof.getEvent())
-                .ifPresent(reg -> {
+        Registration.RegistrationStatus previousStatus = registrationRepository.findByUserAndEvent(proof.getUser(), proof.getEvent())
+                .map(reg -> {
+                    Registration.RegistrationStatus status = reg.getStatus();
                     reg.setStatus(Registration.RegistrationStatus.REJECTED);
                     registrationRepository.save(reg);
-                });
+                    return status;
+                })
+                .orElse(null);
+        userStatsService.proofRejected(proof.getUser().getId(), previousStatus);
 
         return convertToDto(proofRepository.save(proof));
     }
 
+    /* =========================================================
+       BULK REVIEW
+    ========================================================= */
+    public List<BulkReviewResultDto> bulkReview(String adminEmail, List<BulkReviewRequest.Item> items) {
+
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (items.size() > maxBulkReviewItems) {
+            throw new IllegalArgumentException("At most " + maxBulkReviewItems + " proofs can be reviewed at once");
+        }
+
+        AdminUser admin = adminUserRepository.findByEmail(adminEmail)
+                .orElseThrow(() -> new RuntimeException("Admin not found"));
+
+        // Ownership and current state for the whole batch in one query
+        Set<Long> proofIds = items.stream()
+                .map(BulkReviewRequest.Item::getProofId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Object[]> owned = new HashMap<>();
+        if (!proofIds.isEmpty()) {
+            for (Object[] row : proofRepository.findReviewRowsOwnedBy(proofIds, admin.getId())) {
+                owned.put((Long) row[0], row);
+            }
+        }
+
+        BulkReviewResultDto[] results = new BulkReviewResultDto[items.size()];
+        List<Integer> approvals = new ArrayList<>();
+        List<Integer> rejections = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkReviewRequest.Item item = items.get(i);
+            Long proofId = item.getProofId();
+            String decision = item.getDecision() != null ? item.getDecision().name() : null;
+            Object[] row = owned.get(proofId);
+
+            if (proofId == null || decision == null) {
+                results[i] = BulkReviewResultDto.failed(proofId, decision, "Proof ID and decision are required");
+            } else if (!seen.add(proofId)) {
+                results[i] = BulkReviewResultDto.failed(proofId, decision, "Duplicate proof ID in request");
+            } else if (row == null) {
+                // Same answer for missing and foreign proofs, so ids of other admins' proofs are not revealed
+                results[i] = BulkReviewResultDto.failed(proofId, decision, "Proof not found");
+            } else if (row[1] != Proof.ProofStatus.PENDING) {
+                results[i] = BulkReviewResultDto.failed(proofId, decision, "Proof is not pending");
+            } else if (item.getDecision() == BulkReviewRequest.Decision.REJECT
+                    && (item.getReason() == null || item.getReason().trim().isEmpty())) {
+                results[i] = BulkReviewResultDto.failed(proofId, decision, "Rejection reason cannot be empty");
+            } else if (item.getDecision() == BulkReviewRequest.Decision.APPROVE) {
+                approvals.add(i);
+            } else {
+                rejections.add(i);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Each update is guarded on PENDING, so a proof reviewed concurrently elsewhere reports a failure here
+        int[] approved = jdbcTemplate.batchUpdate(APPROVE_PROOF, approvals.stream()
+                .map(i -> new Object[]{now, owned.get(items.get(i).getProofId())[4], items.get(i).getProofId()})
+                .collect(Collectors.toList()));
+        int[] rejected = jdbcTemplate.batchUpdate(REJECT_PROOF, rejections.stream()
+                .map(i -> new Object[]{now, items.get(i).getReason(), items.get(i).getProofId()})
+                .collect(Collectors.toList()));
+
+        List<Object[]> registrationUpdates = new ArrayList<>();
+        Map<Long, Integer> pointsByUser = new HashMap<>();
+        Map<Long, UserStatsService.Delta> statsByUser = new HashMap<>();
+        List<Long> approvedProofIds = new ArrayList<>();
+
+        for (int n = 0; n < approvals.size(); n++) {
+            int i = approvals.get(n);
+            Long proofId = items.get(i).getProofId();
+            if (approved[n] == 0) {
+                results[i] = BulkReviewResultDto.failed(proofId, "APPROVE", "Proof is not pending");
+                continue;
+            }
+            Object[] row = owned.get(proofId);
+            registrationUpdates.add(new Object[]{Registration.RegistrationStatus.COMPLETED.name(), row[2], row[3]});
+            pointsByUser.merge((Long) row[2], (Integer) row[4], Integer::sum);
+            statsByUser.computeIfAbsent((Long) row[2], userId -> new UserStatsService.Delta()).approved((Integer) row[4]);
+            approvedProofIds.add(proofId);
+            results[i] = BulkReviewResultDto.ok(proofId, "APPROVE", Proof.ProofStatus.APPROVED.name());
+        }
+
+        for (int n = 0; n < rejections.size(); n++) {
+            int i = rejections.get(n);
+            Long proofId = items.get(i).getProofId();
+            if (rejected[n] == 0) {
+                results[i] = BulkReviewResultDto.failed(proofId, "REJECT", "Proof is not pending");
+                continue;
+            }
+            Object[] row = owned.get(proofId);
+            registrationUpdates.add(new Object[]{Registration.RegistrationStatus.REJECTED.name(), row[2], row[3]});
+            statsByUser.computeIfAbsent((Long) row[2], userId -> new UserStatsService.Delta()).rejected();
+            results[i] = BulkReviewResultDto.ok(proofId, "REJECT", Proof.ProofStatus.REJECTED.name());
+        }
+
+        userStatsService.registrationsLeavingApplied(registrationUpdates);
+        jdbcTemplate.batchUpdate(UPDATE_REGISTRATION_STATUS, registrationUpdates);
+        userStatsService.applyAll(statsByUser);
+        addPoints(pointsByUser);
+        certificateJobService.enqueueAll(approvedProofIds);
+
+        return Arrays.asList(results);
+    }
+
+    // Relative UPDATE, so concurrent approvals for one volunteer add up instead of overwriting each other.
+    // Loaded User entities keep the old total; the leaderboard ranks on what the row holds afterwards.
+    private void addPoints(Map<Long, Integer> pointsByUser) {
+        if (pointsByUser.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_USER_POINTS, pointsByUser.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .collect(Collectors.toList()));
+
+        Map<Long, Integer> totals = new HashMap<>();
+        for (Object[] row : userRepository.findTotalPointsByIds(pointsByUser.keySet())) {
+            totals.put((Long) row[0], (Integer) row[1]);
+        }
+        userRepository.findAllById(pointsByUser.keySet())
+                .forEach(user -> leaderboardIndex.upsertAfterCommit(user, totals.getOrDefault(user.getId(), 0)));
+    }
+
     /* =========================================================
        REGENERATE CERTIFICATE (ADMIN)
     ========================================================= */
@@ -265,32 +551,88 @@ if (id == null) {
 Proof proof = proofRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Proof not found"));
 
-        boolean ownsProof = getProofsByAdmin(adminEmail)
-                .stream()
-                .anyMatch(p -> proofId.equals(p.getId()));
-
-        if (!ownsProof) {
+        if (!isOwnedByAdmin(proofId, adminEmail)) {
             throw new RuntimeException("Unauthorized regeneration attempt");
         }
 
+        if (proof.getStatus() != Proof.ProofStatus.APPROVED) {
+            throw new RuntimeException("Proof is not approved");
+        }
+
         certificateRepository.findByProofId(proofId)
-                .ifPresent(certificateRepository::delete);
+                .ifPresent(certificate -> {
+                    certificateRepository.delete(certificate);
+                    verificationCache.invalidate(certificate.getCertificateId());
+                });
 
-        try {
-            certificateService.generateCertificate(
-                    proof.getUser(),
-                    proof.getEvent(),
-                    proof
-            );
-        } catch (Exception e) {
-            throw new RuntimeException("Certificate regeneration failed");
+        certificateJobService.requeue(proofId);
+    }
+
+    // RUNNING is an internal state; clients only see PENDING / READY / FAILED
+    private String toCertificateStatus(CertificateJob.JobStatus status) {
+        if (status == null) {
+            return null;
         }
+        return status == CertificateJob.JobStatus.RUNNING
+                ? CertificateJob.JobStatus.PENDING.name()
+                : status.name();
     }
 
     /* =========================================================
        DTO CONVERSION
     ========================================================= */
+    // Admin views additionally get a preview image and a flag for files shared with another proof
+    private List<ProofDto> convertToReviewDtos(List<Proof> proofs) {
+        Map<String, ProofBlob> blobs = proofBlobService.findByHashes(proofs.stream()
+                .map(Proof::getChecksumSha256)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<ProofDto> dtos = convertToDtos(proofs);
+        for (int i = 0; i < proofs.size(); i++) {
+            ProofDto dto = dtos.get(i);
+            ProofBlob blob = blobs.get(proofs.get(i).getChecksumSha256());
+            dto.setPossibleDuplicate(blob != null && blob.getRefCount() > 1);
+            if (blob != null && blob.getThumbnailKey() != null) {
+                dto.setThumbnailUrl(blobStore.publicUrl(blob.getThumbnailKey()));
+            }
+        }
+        return dtos;
+    }
+
+    // Expects user, event and event.creator already fetched; certificate ids and job statuses
+    // for the whole list come from one IN query each, so the query count does not grow with the list
+    private List<ProofDto> convertToDtos(List<Proof> proofs) {
+        List<Long> proofIds = proofs.stream().map(Proof::getId).collect(Collectors.toList());
+        Map<Long, String> certificateIds = certificateService.getCertificateIdsByProofIds(proofIds);
+
+        List<Long> awaitingCertificate = proofs.stream()
+                .filter(proof -> proof.getStatus() == Proof.ProofStatus.APPROVED
+                        && !certificateIds.containsKey(proof.getId()))
+                .map(Proof::getId)
+                .collect(Collectors.toList());
+        Map<Long, CertificateJob.JobStatus> jobStatuses = certificateJobService.getStatuses(awaitingCertificate);
+
+        return proofs.stream()
+                .map(proof -> convertToDto(proof, certificateIds.get(proof.getId()), jobStatuses.get(proof.getId())))
+                .collect(Collectors.toList());
+    }
+
     private ProofDto convertToDto(Proof proof) {
+        Long proofId = proof.getId();
+        if (proofId == null) {
+            return convertToDto(proof, null, null);
+        }
+        Certificate cert = certificateService.getCertificateByProofId(proofId);
+        if (cert != null) {
+            return convertToDto(proof, cert.getCertificateId(), null);
+        }
+        return convertToDto(proof, null, proof.getStatus() == Proof.ProofStatus.APPROVED
+                ? certificateJobService.getStatus(proofId)
+                : null);
+    }
+
+    private ProofDto convertToDto(Proof proof, String certificateId, CertificateJob.JobStatus jobStatus) {
 
         ProofDto dto = new ProofDto();
         dto.setId(proof.getId());
@@ -300,19 +642,20 @@ Proof proof = proofRepository.findById(id)
         dto.setEventTitle(proof.getEvent().getTitle());
         dto.setEventCategory(proof.getEvent().getCategory());
         dto.setEventCoordinatorName(proof.getEvent().getCreator().getName());
-        dto.setProofUrl(proof.getProofUrl());
+        dto.setProofUrl(proof.getStorageKey() != null
+                ? blobStore.publicUrl(proof.getStorageKey())
+                : proof.getProofUrl());
         dto.setStatus(proof.getStatus().name());
         dto.setSubmittedAt(proof.getSubmittedAt());
         dto.setReviewedAt(proof.getReviewedAt());
         dto.setPointsAwarded(proof.getPointsAwarded());
         dto.setRejectionReason(proof.getRejectionReason());
 
-        Long proofId = proof.getId();
-        if (proofId != null) {
-            Certificate cert = certificateService.getCertificateByProofId(proofId);
-            if (cert != null) {
-                dto.setCertificateId(cert.getCertificateId());
-            }
+        if (certificateId != null) {
+            dto.setCertificateId(certificateId);
+            dto.setCertificateStatus(CertificateJob.JobStatus.READY.name());
+        } else if (proof.getStatus() == Proof.ProofStatus.APPROVED) {
+            dto.setCertificateStatus(toCertificateStatus(jobStatus));
         }
 
         return dto;
@@ -0,0 +1,255 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.entity.ProofBlob;
+import com.volunteer.portal.repository.ProofBlobRepository;
+import com.volunteer.portal.storage.BlobStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates small JPEG previews of uploaded proof images for the review queue. Work runs on a
+ * bounded pool after the upload commits; anything the pool drops, or that was lost to a restart,
+ * is picked up by the sweeper from proof_blobs rows that still lack a thumbnail.
+ */
+@Service
+public class ProofThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProofThumbnailService.class);
+
+    private static final String UPLOAD_PREFIX = "uploads/";
+    private static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+
+    @Autowired
+    private ProofBlobRepository proofBlobRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${proofs.thumbnails.workers:1}")
+    private int workers;
+
+    @Value("${proofs.thumbnails.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${proofs.thumbnails.max-edge:320}")
+    private int maxEdge;
+
+    @Value("${proofs.thumbnails.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    private ThreadPoolExecutor executor;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                // Full queue or shutting down: drop the task and let the sweeper find the blob again later
+                (task, pool) -> inFlight.remove(((ThumbnailTask) task).sha256)
+        );
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    // Stored next to the original: uploads/<sha256>.png -> uploads/<sha256>_thumb.jpg
+    public static String thumbnailKeyFor(String sha256) {
+        return UPLOAD_PREFIX + sha256 + "_thumb.jpg";
+    }
+
+    /* =======================
+       SCHEDULING
+    ======================= */
+    public void generateAfterCommit(String sha256, String contentType) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(sha256);
+                }
+            });
+        } else {
+            dispatch(sha256);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${proofs.thumbnails.poll-interval-ms:60000}")
+    public void sweepMissingThumbnails() {
+        int room = executor.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        for (String sha256 : proofBlobRepository.findMissingThumbnails(PageRequest.of(0, room))) {
+            dispatch(sha256);
+        }
+    }
+
+    private void dispatch(String sha256) {
+        if (!inFlight.add(sha256)) {
+            return;
+        }
+        executor.execute(new ThumbnailTask(sha256));
+    }
+
+    private final class ThumbnailTask implements Runnable {
+        private final String sha256;
+
+        ThumbnailTask(String sha256) {
+            this.sha256 = sha256;
+        }
+
+        @Override
+        public void run() {
+            try {
+                generate(sha256);
+            } finally {
+                inFlight.remove(sha256);
+            }
+        }
+    }
+
+    /* =======================
+       WORKER
+    ======================= */
+    private void generate(String sha256) {
+        ProofBlob blob = proofBlobRepository.findById(sha256).orElse(null);
+        if (blob == null || blob.getThumbnailKey() != null) {
+            return;
+        }
+
+        try {
+            BufferedImage thumbnail;
+            try (InputStream in = blobStore.get(blob.getStorageKey()).getInputStream()) {
+                thumbnail = readScaled(in);
+            }
+            if (thumbnail == null) {
+                proofBlobRepository.markThumbnailFailed(sha256);
+                return;
+            }
+
+            byte[] jpeg = encodeJpeg(thumbnail);
+            String thumbnailKey = thumbnailKeyFor(sha256);
+            blobStore.put(thumbnailKey, new ByteArrayInputStream(jpeg), jpeg.length, THUMBNAIL_CONTENT_TYPE);
+
+            if (proofBlobRepository.setThumbnailKey(sha256, thumbnailKey) == 0) {
+                // The last proof using this file was deleted meanwhile
+                blobStore.delete(thumbnailKey);
+            }
+        } catch (NoSuchFileException e) {
+            // Original already gone
+        } catch (Exception e) {
+            log.warn("Thumbnail generation failed for blob {}: {}", sha256, e.getMessage());
+            proofBlobRepository.markThumbnailFailed(sha256);
+        }
+    }
+
+    // Decodes with source subsampling, so a 12 MP photo never becomes a full-size bitmap on the heap
+    private BufferedImage readScaled(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (maxEdge * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return scaleToFit(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source) {
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha channel, so transparent areas are flattened onto white
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
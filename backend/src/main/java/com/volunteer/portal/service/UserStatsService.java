@@ -0,0 +1,239 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.repository.UserStatsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the user_stats dashboard counters. Every write path that changes a registration or
+ * proof status adjusts the owner's row in the same transaction, so the dashboard reads them with the
+ * account in one query. A scheduled reconciliation compares the counters with the source tables per id range,
+ * creates rows for users who predate the table and repairs any drift.
+ */
+@Service
+public class UserStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsService.class);
+
+    private static final String INSERT_EMPTY_ROW =
+            "INSERT INTO user_stats (user_id, applied_events, completed_events, rejected_events, total_points) " +
+            "VALUES (?, 0, 0, 0, 0)";
+
+    private static final String ADJUST =
+            "UPDATE user_stats SET applied_events = applied_events + ?, completed_events = completed_events + ?, " +
+            "rejected_events = rejected_events + ?, total_points = total_points + ? WHERE user_id = ?";
+
+    // Must run before the registration's status is overwritten; subtracts 1 only if it is still APPLIED
+    private static final String LEAVE_APPLIED =
+            "UPDATE user_stats SET applied_events = applied_events - " +
+            "(SELECT COUNT(*) FROM registrations r WHERE r.user_id = ? AND r.event_id = ? AND r.status = 'APPLIED') " +
+            "WHERE user_id = ?";
+
+    private static final String INSERT_MISSING_ROWS =
+            "INSERT INTO user_stats (user_id, applied_events, completed_events, rejected_events, total_points) " +
+            "SELECT u.id, 0, 0, 0, 0 FROM users u WHERE u.id >= ? AND u.id < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM user_stats s WHERE s.user_id = u.id)";
+
+    // Row: user id, the four stored counters, then the same four recomputed from the source tables
+    private static final String SELECT_WITH_SOURCE_COUNTS =
+            "SELECT s.user_id, s.applied_events, s.completed_events, s.rejected_events, s.total_points, " +
+            "(SELECT COUNT(*) FROM registrations r WHERE r.user_id = s.user_id AND r.status = 'APPLIED'), " +
+            "(SELECT COUNT(*) FROM proofs p WHERE p.user_id = s.user_id AND p.status = 'APPROVED'), " +
+            "(SELECT COUNT(*) FROM proofs p WHERE p.user_id = s.user_id AND p.status = 'REJECTED'), " +
+            "(SELECT COALESCE(SUM(p.points_awarded), 0) FROM proofs p WHERE p.user_id = s.user_id AND p.status = 'APPROVED') " +
+            "FROM user_stats s WHERE s.user_id >= ? AND s.user_id < ?";
+
+    // Guarded on the values we read so a concurrent write is never overwritten with a stale recount
+    private static final String REPAIR_ROW =
+            "UPDATE user_stats SET applied_events = ?, completed_events = ?, rejected_events = ?, total_points = ? " +
+            "WHERE user_id = ? AND applied_events = ? AND completed_events = ? AND rejected_events = ? AND total_points = ?";
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${users.stats.reconcile.chunk-size:10000}")
+    private int chunkSize;
+
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    private final ExecutorService startupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Per-user totals collected by bulk review and applied as one batch
+    public static final class Delta {
+        private long completed;
+        private long rejected;
+        private int points;
+
+        public void approved(int pointsAwarded) {
+            completed++;
+            points += pointsAwarded;
+        }
+
+        public void rejected() {
+            rejected++;
+        }
+    }
+
+    /* =======================
+       WRITE PATHS
+    ======================= */
+    public void createFor(Long userId) {
+        try {
+            jdbcTemplate.update(INSERT_EMPTY_ROW, userId);
+        } catch (DuplicateKeyException e) {
+            // Already created by a reconciliation run
+        }
+    }
+
+    public void registrationAdded(Long userId) {
+        userStatsRepository.adjust(userId, 1, 0, 0, 0);
+    }
+
+    public void registrationRemoved(Long userId, Registration.RegistrationStatus status) {
+        if (status == Registration.RegistrationStatus.APPLIED) {
+            userStatsRepository.adjust(userId, -1, 0, 0, 0);
+        }
+    }
+
+    // previousStatus is the registration's status before the review moved it to COMPLETED
+    public void proofApproved(Long userId, Registration.RegistrationStatus previousStatus, int pointsAwarded) {
+        userStatsRepository.adjust(userId, leftApplied(previousStatus), 1, 0, pointsAwarded);
+    }
+
+    // previousStatus is the registration's status before the review moved it to REJECTED
+    public void proofRejected(Long userId, Registration.RegistrationStatus previousStatus) {
+        userStatsRepository.adjust(userId, leftApplied(previousStatus), 0, 1, 0);
+    }
+
+    // A rejected proof deleted to make room for a new upload
+    public void rejectedProofRemoved(Long userId) {
+        userStatsRepository.adjust(userId, 0, 0, -1, 0);
+    }
+
+    // Bulk review: each element is {status, userId, eventId}, as passed to the registration status batch
+    public void registrationsLeavingApplied(List<Object[]> registrationUpdates) {
+        if (registrationUpdates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(LEAVE_APPLIED, registrationUpdates.stream()
+                .map(update -> new Object[]{update[1], update[2], update[1]})
+                .collect(Collectors.toList()));
+    }
+
+    public void applyAll(Map<Long, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADJUST, deltas.entrySet().stream()
+                .map(e -> new Object[]{0, e.getValue().completed, e.getValue().rejected, e.getValue().points, e.getKey()})
+                .collect(Collectors.toList()));
+    }
+
+    private static long leftApplied(Registration.RegistrationStatus previousStatus) {
+        return previousStatus == Registration.RegistrationStatus.APPLIED ? -1 : 0;
+    }
+
+    /* =======================
+       RECONCILIATION
+    ======================= */
+
+    // Creates rows for existing users right after the first deploy instead of waiting for the schedule
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        startupExecutor.submit(this::reconcile);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        startupExecutor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${users.stats.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM users");
+            if (bounds.get("lo") == null) {
+                return;
+            }
+            long lo = ((Number) bounds.get("lo")).longValue();
+            long hi = ((Number) bounds.get("hi")).longValue();
+            int width = Math.max(chunkSize, 1);
+
+            int created = 0;
+            int repaired = 0;
+            for (long start = lo; start <= hi; start += width) {
+                long end = Math.min(start + width, hi + 1);
+                created += insertMissingRows(start, end);
+                repaired += repairRange(start, end);
+            }
+            if (created > 0 || repaired > 0) {
+                log.info("User stats reconciliation: {} rows created, {} rows repaired", created, repaired);
+            }
+        } catch (RuntimeException e) {
+            log.warn("User stats reconciliation failed: {}", e.getMessage());
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    private int insertMissingRows(long fromId, long toId) {
+        try {
+            return jdbcTemplate.update(INSERT_MISSING_ROWS, fromId, toId);
+        } catch (DuplicateKeyException e) {
+            // A user signed up inside this range meanwhile; the next run picks up the rest
+            return 0;
+        }
+    }
+
+    private int repairRange(long fromId, long toId) {
+        List<long[]> rows = jdbcTemplate.query(SELECT_WITH_SOURCE_COUNTS, (rs, rowNum) -> new long[]{
+                rs.getLong(1),
+                rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+                rs.getLong(6), rs.getLong(7), rs.getLong(8), rs.getLong(9)
+        }, fromId, toId);
+
+        List<Object[]> repairs = rows.stream()
+                .filter(row -> row[1] != row[5] || row[2] != row[6] || row[3] != row[7] || row[4] != row[8])
+                .map(row -> new Object[]{row[5], row[6], row[7], row[8], row[0], row[1], row[2], row[3], row[4]})
+                .collect(Collectors.toList());
+        if (repairs.isEmpty()) {
+            return 0;
+        }
+
+        int repaired = 0;
+        for (int count : jdbcTemplate.batchUpdate(REPAIR_ROW, repairs)) {
+            repaired += count > 0 ? 1 : 0;
+        }
+        if (repaired > 0) {
+            log.warn("User stats drift repaired for {} users in id range [{}, {})", repaired, fromId, toId);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,31 @@
+package com.volunteer.portal.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Storage for uploaded proofs and generated certificates. Keys are relative, slash separated
+ * paths such as "uploads/abc_photo.png" or "certificates/CERT-1234ABCD.pdf"; the backend decides
+ * where the bytes physically live.
+ */
+public interface BlobStore {
+
+    // Streams the content in; the blob only becomes visible once fully written
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    // Streaming handle on the blob; throws NoSuchFileException when it does not exist
+    Resource get(String key) throws IOException;
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+
+    // URL handed to clients for displaying or downloading the blob
+    String publicUrl(String key);
+
+    // URL clients can fetch from without going through this app, when the backend offers one
+    Optional<String> directUrl(String key);
+}
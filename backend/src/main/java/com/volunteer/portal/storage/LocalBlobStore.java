@@ -0,0 +1,164 @@
+package com.volunteer.portal.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Local-disk blob store. Blobs are spread over two levels of hash-derived directories
+ * (root/uploads/3f/a9/name) so no single directory grows unbounded. Files written before
+ * sharding existed (root/uploads/name) are still found.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${storage.local.root:.}")
+    private String root;
+
+    @Value("${storage.public-base-url:}")
+    private String publicBaseUrl;
+
+    private Path rootPath;
+
+    @PostConstruct
+    public void init() {
+        rootPath = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    /* =======================
+       WRITE
+    ======================= */
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        Path target = shardedPath(key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(".upload-" + UUID.randomUUID() + ".part");
+
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(shardedPath(key));
+        Files.deleteIfExists(legacyPath(key));
+    }
+
+    /* =======================
+       READ
+    ======================= */
+    @Override
+    public Resource get(String key) throws IOException {
+        Resource resource = new FileSystemResource(resolve(key));
+        if (!resource.isReadable()) {
+            throw new NoSuchFileException(key);
+        }
+        return resource;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    // Served by the /uploads/** handler in WebConfig
+    @Override
+    public String publicUrl(String key) {
+        validate(key);
+        if (!publicBaseUrl.isBlank()) {
+            return publicBaseUrl.replaceAll("/+$", "") + "/" + key;
+        }
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            return ServletUriComponentsBuilder.fromCurrentContextPath().path("/" + key).toUriString();
+        }
+        return "/" + key;
+    }
+
+    @Override
+    public Optional<String> directUrl(String key) {
+        return Optional.empty();
+    }
+
+    /* =======================
+       LAYOUT
+    ======================= */
+    private Path resolve(String key) {
+        Path sharded = shardedPath(key);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path legacy = legacyPath(key);
+        return Files.exists(legacy) ? legacy : sharded;
+    }
+
+    // "uploads/name" -> root/uploads/ab/cd/name, where abcd are the first hex digits of sha256(key)
+    private Path shardedPath(String key) {
+        validate(key);
+        int slash = key.lastIndexOf('/');
+        String prefix = slash >= 0 ? key.substring(0, slash) : "";
+        String name = key.substring(slash + 1);
+        String hash = sha256Hex(key);
+        return rootPath.resolve(prefix).resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(name);
+    }
+
+    private Path legacyPath(String key) {
+        validate(key);
+        return rootPath.resolve(key);
+    }
+
+    private void validate(String key) {
+        if (key == null || key.isBlank() || key.startsWith("/") || key.contains("\\")
+                || key.equals("..") || key.startsWith("../") || key.contains("/../") || key.endsWith("/..")) {
+            throw new IllegalArgumentException("Invalid storage key");
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.volunteer.portal.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Blob store backed by any S3-compatible service (AWS S3, MinIO, R2, ...). Clients fetch blobs
+ * straight from the bucket through presigned GET URLs, or through a public/CDN base URL when one
+ * is configured, so app nodes never proxy the bytes.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    @Value("${storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${storage.s3.region:us-east-1}")
+    private String region;
+
+    // Set for MinIO and other non-AWS services, e.g. http://localhost:9000
+    @Value("${storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${storage.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+
+    @Value("${storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${storage.s3.presign-ttl-minutes:15}")
+    private long presignTtlMinutes;
+
+    @Value("${storage.public-base-url:}")
+    private String publicBaseUrl;
+
+    private S3Client s3;
+    private S3Presigner presigner;
+
+    @PostConstruct
+    public void init() {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration serviceConfig = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        var clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfig);
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfig);
+        if (!endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+        s3 = clientBuilder.build();
+        presigner = presignerBuilder.build();
+    }
+
+    @PreDestroy
+    public void close() {
+        s3.close();
+        presigner.close();
+    }
+
+    /* =======================
+       WRITE
+    ======================= */
+
+    // PUT is atomic in S3: the object is not visible until the upload completes
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        if (contentLength < 0) {
+            throw new IllegalArgumentException("Content length is required");
+        }
+        try {
+            s3.putObject(builder -> builder
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentLength(contentLength),
+                    RequestBody.fromInputStream(content, contentLength));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to store " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(builder -> builder.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /* =======================
+       READ
+    ======================= */
+
+    // Only used when a request still has to go through the app, e.g. legacy /uploads/** links.
+    // Metadata comes from a HEAD; the GET is only issued when the body is actually read, and the
+    // reader closes it, so a 304 or an aborted response never leaves a connection checked out
+    @Override
+    public Resource get(String key) throws IOException {
+        HeadObjectResponse head;
+        try {
+            head = s3.headObject(builder -> builder.bucket(bucket).key(key));
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("Failed to read " + key + ": " + e.getMessage(), e);
+        }
+
+        String filename = key.substring(key.lastIndexOf('/') + 1);
+        return new AbstractResource() {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                try {
+                    return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+                } catch (NoSuchKeyException e) {
+                    throw new NoSuchFileException(key);
+                } catch (S3Exception e) {
+                    throw new IOException("Failed to read " + key + ": " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public boolean exists() {
+                return true;
+            }
+
+            @Override
+            public long contentLength() {
+                return head.contentLength() != null ? head.contentLength() : -1;
+            }
+
+            @Override
+            public long lastModified() {
+                return head.lastModified() != null ? head.lastModified().toEpochMilli() : 0;
+            }
+
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+
+            @Override
+            public String getDescription() {
+                return "s3://" + bucket + "/" + key;
+            }
+        };
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(builder -> builder.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return directUrl(key).orElseThrow();
+    }
+
+    @Override
+    public Optional<String> directUrl(String key) {
+        if (!publicBaseUrl.isBlank()) {
+            return Optional.of(publicBaseUrl.replaceAll("/+$", "") + "/" + key);
+        }
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMinutes(presignTtlMinutes))
+                .getObjectRequest(builder -> builder.bucket(bucket).key(key))
+                .build();
+        return Optional.of(presigner.presignGetObject(request).url().toString());
+    }
+}
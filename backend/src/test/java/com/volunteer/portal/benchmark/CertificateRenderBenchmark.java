@@ -0,0 +1,123 @@
+package com.volunteer.portal.benchmark;
+
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Certificate;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.CertificateRepository;
+import com.volunteer.portal.service.CertificateService;
+import com.volunteer.portal.service.CertificateTemplate;
+import com.volunteer.portal.service.CertificateVerificationCache;
+import com.volunteer.portal.storage.BlobStore;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Certificates rendered per second by CertificateService#generateCertificate with the template assets
+ * loaded once, as at runtime. Storage and persistence are stubbed so the score is PDF and QR work only.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CertificateRender
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CertificateRenderBenchmark {
+
+    private CertificateService certificateService;
+    private User user;
+    private Event event;
+    private Proof proof;
+
+    @Setup
+    public void setUp() throws Exception {
+        CertificateTemplate template = new CertificateTemplate();
+        template.loadAssets();
+
+        CertificateRepository repository = Mockito.mock(CertificateRepository.class);
+        Mockito.when(repository.save(any(Certificate.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        certificateService = new CertificateService();
+        ReflectionTestUtils.setField(certificateService, "certificateTemplate", template);
+        ReflectionTestUtils.setField(certificateService, "certificateRepository", repository);
+        ReflectionTestUtils.setField(certificateService, "verificationCache",
+                Mockito.mock(CertificateVerificationCache.class));
+        ReflectionTestUtils.setField(certificateService, "blobStore", new DiscardingBlobStore());
+
+        AdminUser coordinator = new AdminUser("Coordinator", "coordinator", "c@x.com", "hash");
+        user = new User("Jane Volunteer", "jane", "jane@x.com", "hash");
+        event = new Event("Beach Clean-up", "d", LocalDateTime.now().minusDays(3), 25, 40);
+        event.setCategory("Environmental");
+        event.setCreator(coordinator);
+        proof = new Proof(user, event, "/uploads/proof.png");
+        proof.setPointsAwarded(25);
+        proof.setReviewedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Certificate singleThread() throws Exception {
+        return certificateService.generateCertificate(user, event, proof);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Certificate fourThreads() throws Exception {
+        return certificateService.generateCertificate(user, event, proof);
+    }
+
+    // Reads the rendered PDF like a real upload would, then drops it
+    private static final class DiscardingBlobStore implements BlobStore {
+        @Override
+        public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+
+        @Override
+        public Resource get(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean exists(String key) {
+            return false;
+        }
+
+        @Override
+        public void delete(String key) {
+        }
+
+        @Override
+        public String publicUrl(String key) {
+            return "/" + key;
+        }
+
+        @Override
+        public Optional<String> directUrl(String key) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.volunteer.portal.benchmark;
+
+import com.volunteer.portal.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token validations per second: JwtUtil's prebuilt parser, the same parser on a token signed
+ * with a rotated-out key, and the per-call key and parser construction JwtUtil used to do.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtValidation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "current-secret-current-secret-current-secret-0123456789";
+    private static final String PREVIOUS_SECRET = "previous-secret-previous-secret-previous-secret-01234567";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String rotatedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil(SECRET, "k2", "k1=" + PREVIOUS_SECRET);
+        token = jwtUtil.generateToken("jane@x.com", "USER", 0);
+        rotatedToken = newJwtUtil(PREVIOUS_SECRET, "k1", "").generateToken("jane@x.com", "USER", 0);
+    }
+
+    @Benchmark
+    public boolean prebuiltParser() {
+        Claims claims = jwtUtil.parseClaims(token);
+        return jwtUtil.validateToken(claims, "jane@x.com");
+    }
+
+    @Benchmark
+    public boolean prebuiltParserRotatedKey() {
+        Claims claims = jwtUtil.parseClaims(rotatedToken);
+        return jwtUtil.validateToken(claims, "jane@x.com");
+    }
+
+    // What every request paid before: key derivation and a new parser per call
+    @Benchmark
+    public boolean perCallParser() {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return "jane@x.com".equals(claims.getSubject());
+    }
+
+    private static JwtUtil newJwtUtil(String secret, String keyId, String previousKeys) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "keyId", keyId);
+        ReflectionTestUtils.setField(util, "previousKeys", previousKeys);
+        ReflectionTestUtils.setField(util, "expiration", 3_600_000L);
+        util.init();
+        return util;
+    }
+}
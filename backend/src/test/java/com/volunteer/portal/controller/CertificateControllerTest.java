@@ -0,0 +1,71 @@
+package com.volunteer.portal.controller;
+
+import com.volunteer.portal.exception.GlobalExceptionHandler;
+import com.volunteer.portal.service.CertificateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CertificateControllerTest {
+
+    private CertificateService certificateService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        certificateService = Mockito.mock(CertificateService.class);
+        when(certificateService.getCertificateStorageKey("CERT-LIVE")).thenReturn("certificates/CERT-LIVE.pdf");
+        when(certificateService.getCertificateStorageKey("CERT-GONE")).thenThrow(new RuntimeException("Certificate not found"));
+        when(certificateService.getDirectDownloadUrl(anyString())).thenReturn(Optional.empty());
+        when(certificateService.openCertificate("certificates/CERT-LIVE.pdf"))
+                .thenReturn(new ByteArrayResource("%PDF-1.4".getBytes()) {
+                    @Override
+                    public long lastModified() {
+                        return 1_700_000_000_000L;
+                    }
+                });
+
+        CertificateController controller = new CertificateController();
+        ReflectionTestUtils.setField(controller, "certificateService", certificateService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void matchingEtagIsNotModifiedWithoutOpeningStorage() throws Exception {
+        mockMvc.perform(get("/api/certificates/download/CERT-LIVE").header("If-None-Match", "\"CERT-LIVE\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"CERT-LIVE\""));
+
+        verify(certificateService, never()).openCertificate(anyString());
+    }
+
+    @Test
+    void deletedCertificateIsNotFoundEvenWithACachedEtag() throws Exception {
+        // The client still holds the ETag from before the admin deleted or regenerated it
+        mockMvc.perform(get("/api/certificates/download/CERT-GONE").header("If-None-Match", "\"CERT-GONE\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void firstDownloadCarriesTheEtag() throws Exception {
+        mockMvc.perform(get("/api/certificates/download/CERT-LIVE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"CERT-LIVE\""));
+    }
+}
@@ -0,0 +1,83 @@
+package com.volunteer.portal.controller;
+
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.exception.GlobalExceptionHandler;
+import com.volunteer.portal.service.LeaderboardIndex;
+import com.volunteer.portal.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LeaderboardControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            User user = new User("User " + i, "user" + i, "u" + i + "@x.com", "hash");
+            user.setId((long) i + 1);
+            user.setTotalPoints(1000 - i);
+            users.add(user);
+        }
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.rebuild(users);
+
+        LeaderboardService service = new LeaderboardService();
+        ReflectionTestUtils.setField(service, "leaderboardIndex", index);
+        LeaderboardController controller = new LeaderboardController();
+        ReflectionTestUtils.setField(controller, "leaderboardService", service);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void oversizedLimitIsClamped() throws Exception {
+        mockMvc.perform(get("/api/leaderboard").param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(100))
+                .andExpect(jsonPath("$[0].rank").value(1));
+    }
+
+    @Test
+    void nonPositiveLimitReturnsOneRow() throws Exception {
+        mockMvc.perform(get("/api/leaderboard").param("offset", "10").param("limit", "-5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].rank").value(11));
+    }
+
+    @Test
+    void negativeOffsetIsRejected() throws Exception {
+        mockMvc.perform(get("/api/leaderboard").param("offset", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Offset must not be negative"));
+    }
+
+    @Test
+    void offsetNearIntMaxIsAnEmptyPage() throws Exception {
+        mockMvc.perform(get("/api/leaderboard")
+                        .param("offset", String.valueOf(Integer.MAX_VALUE - 10))
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void noParametersStillReturnsTheWholeBoard() throws Exception {
+        mockMvc.perform(get("/api/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(150));
+    }
+}
@@ -0,0 +1,152 @@
+package com.volunteer.portal.security;
+
+import com.volunteer.portal.controller.AuthController;
+import com.volunteer.portal.exception.GlobalExceptionHandler;
+import com.volunteer.portal.exception.ServiceBusyException;
+import com.volunteer.portal.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BoundedPasswordEncoderTest {
+
+    private static final long MAX_WAIT_MS = 200;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new BoundedPasswordEncoder();
+        ReflectionTestUtils.setField(encoder, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(encoder, "strength", 4);
+        ReflectionTestUtils.setField(encoder, "threads", 1);
+        ReflectionTestUtils.setField(encoder, "queueCapacity", 2);
+        ReflectionTestUtils.setField(encoder, "maxWaitMillis", MAX_WAIT_MS);
+        ReflectionTestUtils.setField(encoder, "retryAfterSeconds", 2L);
+        encoder.init();
+        executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void hashesOnThePool() {
+        String hash = encoder.encode("secret-password");
+
+        assertThat(encoder.matches("secret-password", hash)).isTrue();
+        assertThat(encoder.matches("wrong-password", hash)).isFalse();
+    }
+
+    @Test
+    void fullQueueIsRejectedWithoutWaiting() {
+        occupyWorker();
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("secret-password"))
+                .isInstanceOfSatisfying(ServiceBusyException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(elapsedMillis(start)).isLessThan(MAX_WAIT_MS);
+    }
+
+    @Test
+    void waitForAStuckPoolIsBounded() {
+        occupyWorker();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("secret-password", "$2a$04$abcdefghijklmnopqrstuu"))
+                .isInstanceOf(ServiceBusyException.class);
+
+        assertThat(elapsedMillis(start)).isBetween(MAX_WAIT_MS, MAX_WAIT_MS * 5);
+        // The abandoned task no longer holds a queue slot
+        assertThat(executor.getQueue()).isEmpty();
+    }
+
+    @Test
+    void saturationReachesTheCallerThroughAuthentication() {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("jane").password(encoder.encode("secret-password")).roles("USER").build()));
+        occupyWorker();
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        // Not turned into BadCredentials (401): the client is told to come back instead
+        assertThatThrownBy(() -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("jane", "secret-password")))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void busyLoginIsAnswered503WithRetryAfter() throws Exception {
+        AuthService authService = Mockito.mock(AuthService.class);
+        Mockito.when(authService.login(any()))
+                .thenThrow(new ServiceBusyException("Too many sign-in requests, please retry shortly", 2));
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authService", authService);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"jane\",\"password\":\"secret-password\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Too many sign-in requests, please retry shortly"));
+    }
+
+    private void occupyWorker() {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
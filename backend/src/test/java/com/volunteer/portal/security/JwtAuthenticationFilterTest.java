@@ -0,0 +1,161 @@
+package com.volunteer.portal.security;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Each registry stands for one node; they share only the database
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import(HibernateCacheConfig.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "current-secret-current-secret-current-secret-0123456789";
+    private static final String EMAIL = "jane@x.com";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private JwtUtil jwtUtil;
+    private UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("Jane", "jane", EMAIL, "hash"));
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "keyId", "default");
+        ReflectionTestUtils.setField(jwtUtil, "previousKeys", "");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.init();
+        userDetailsService = Mockito.mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(
+                org.springframework.security.core.userdetails.User.withUsername(EMAIL).password("").roles("USER").build());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenOlderThanTheKnownVersionIsRejected() throws Exception {
+        TokenRevocationRegistry registry = newRegistry();
+        String token = jwtUtil.generateToken(EMAIL, "USER", 0);
+        revokeAllTokens();
+        registry.loadVersion(EMAIL);
+
+        assertThat(authenticate(registry, token)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void tokenNewerThanTheRegistryIsCheckedAgainstTheDatabase() throws Exception {
+        TokenRevocationRegistry registry = newRegistry();
+        revokeAllTokens();
+        registry.loadVersion(EMAIL);
+        // Another node revokes again and issues a token this node has not heard of
+        revokeAllTokens();
+        String token = jwtUtil.generateToken(EMAIL, "USER", 2);
+
+        Authentication authentication = authenticate(registry, token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo(EMAIL);
+        verify(userDetailsService).loadUserByUsername(EMAIL);
+        assertThat(registry.knownVersion(EMAIL)).isEqualTo(2);
+    }
+
+    @Test
+    void logoutAllOnAnotherNodeTakesEffectAfterRefresh() throws Exception {
+        TokenRevocationRegistry registry = newRegistry();
+        registry.refresh();
+        String token = jwtUtil.generateToken(EMAIL, "USER", 0);
+        assertThat(authenticate(registry, token)).isNotNull();
+
+        // Written by the node that served the logout-all; this one only sees it by polling
+        revokeAllTokens();
+        assertThat(authenticate(registry, token)).isNotNull();
+        registry.refresh();
+
+        assertThat(authenticate(registry, token)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void legacyTokenWithoutClaimsLoadsTheAccount() throws Exception {
+        TokenRevocationRegistry registry = newRegistry();
+        String token = Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        Authentication authentication = authenticate(registry, token);
+
+        assertThat(authentication).isNotNull();
+        verify(userDetailsService).loadUserByUsername(EMAIL);
+        // Still version 0 in the database, so a logout-all would reject it
+        revokeAllTokens();
+        assertThat(authenticate(registry, token)).isNull();
+    }
+
+    private TokenRevocationRegistry newRegistry() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry();
+        ReflectionTestUtils.setField(registry, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(registry, "expiration", 3_600_000L);
+        return registry;
+    }
+
+    private void revokeAllTokens() {
+        userRepository.revokeTokens(EMAIL, LocalDateTime.now());
+    }
+
+    // The authentication the filter established for the request, or null if it let it through anonymously
+    private Authentication authenticate(TokenRevocationRegistry registry, String token) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenRevocationRegistry", registry);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", Mockito.mock(VerifiedTokenCache.class));
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,80 @@
+package com.volunteer.portal.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTest {
+
+    private static final String EMAIL = "jane@x.com";
+
+    private final UserDetails principal = User.withUsername(EMAIL).password("").roles("USER").build();
+    private TokenRevocationRegistry registry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = Mockito.mock(TokenRevocationRegistry.class);
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "tokenRevocationRegistry", registry);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+        cache.init();
+    }
+
+    @Test
+    void revokedTokenIsDroppedFromTheCache() {
+        String key = cache.keyOf("token");
+        cache.put(key, claims(0, System.currentTimeMillis() + 60_000), principal, 1_000_000);
+        assertThat(cache.get(key)).isSameAs(principal);
+
+        // Logout-all bumped the account to version 1
+        when(registry.knownVersion(EMAIL)).thenReturn(1);
+        assertThat(cache.get(key)).isNull();
+
+        // Gone for good, not just hidden while the revocation is tracked
+        when(registry.knownVersion(EMAIL)).thenReturn(null);
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void entryNeverOutlivesTheTokenExpiry() throws Exception {
+        String key = cache.keyOf("token");
+        // Expires well inside the 30 second cache TTL
+        long expiresAt = System.currentTimeMillis() + 2_000;
+        cache.put(key, claims(0, expiresAt), principal, 1_000_000);
+        assertThat(cache.get(key)).isSameAs(principal);
+
+        Thread.sleep(Math.max(0, expiresAt - System.currentTimeMillis()) + 200);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNeverServed() {
+        String key = cache.keyOf("token");
+        cache.put(key, claims(0, System.currentTimeMillis() - 1_000), principal, 1_000_000);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    private static Claims claims(int version, long expiresAtMillis) {
+        Claims claims = Jwts.claims().setSubject(EMAIL).setExpiration(new Date(expiresAtMillis));
+        claims.put(JwtUtil.ROLE_CLAIM, "USER");
+        claims.put(JwtUtil.VERSION_CLAIM, version);
+        return claims;
+    }
+}
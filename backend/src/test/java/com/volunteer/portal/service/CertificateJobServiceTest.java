@@ -0,0 +1,137 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.CertificateJob;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.CertificateJobRepository;
+import com.volunteer.portal.repository.CertificateRepository;
+import com.volunteer.portal.repository.ProofRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+// Workers run outside any request transaction, so every repository call here commits on its own
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({CertificateJobService.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CertificateJobServiceTest {
+
+    private static final Long PROOF_ID = 42L;
+
+    @Autowired
+    private CertificateJobService certificateJobService;
+
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+
+    @MockBean
+    private CertificateRepository certificateRepository;
+
+    @MockBean
+    private ProofRepository proofRepository;
+
+    @MockBean
+    private CertificateService certificateService;
+
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        when(certificateRepository.findByProofId(anyLong())).thenReturn(Optional.empty());
+        when(proofRepository.findWithUserAndEventById(PROOF_ID)).thenReturn(Optional.of(approvedProof()));
+        jobId = certificateJobRepository.save(new CertificateJob(PROOF_ID)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        certificateJobRepository.deleteAll();
+    }
+
+    @Test
+    void renderedJobIsReady() {
+        process();
+
+        CertificateJob job = reload();
+        assertThat(job.getStatus()).isEqualTo(CertificateJob.JobStatus.READY);
+        assertThat(job.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void requeueDuringRenderIsNotOverwritten() throws Exception {
+        LocalDateTime later = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        doAnswer(invocation -> {
+            // What requeue writes, minus the dispatch, while this worker is still rendering
+            CertificateJob job = reload();
+            job.setStatus(CertificateJob.JobStatus.PENDING);
+            job.setAttempts(0);
+            job.setNextAttemptAt(later);
+            job.setUpdatedAt(LocalDateTime.now());
+            certificateJobRepository.save(job);
+            return null;
+        }).when(certificateService).generateCertificate(any(), any(), any());
+
+        process();
+
+        CertificateJob job = reload();
+        assertThat(job.getStatus()).isEqualTo(CertificateJob.JobStatus.PENDING);
+        assertThat(job.getAttempts()).isZero();
+        assertThat(job.getNextAttemptAt()).isEqualTo(later);
+    }
+
+    @Test
+    void lateResultOfAReleasedClaimIsDropped() throws Exception {
+        doAnswer(invocation -> {
+            // The poller gave up on this worker and another one claimed the job again
+            LocalDateTime now = LocalDateTime.now();
+            certificateJobRepository.releaseStale(now.plusSeconds(1), now);
+            certificateJobRepository.claim(jobId, now);
+            throw new RuntimeException("slow renderer timed out");
+        }).when(certificateService).generateCertificate(any(), any(), any());
+
+        process();
+
+        CertificateJob job = reload();
+        assertThat(job.getStatus()).isEqualTo(CertificateJob.JobStatus.RUNNING);
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getLastError()).isNull();
+    }
+
+    private void process() {
+        ReflectionTestUtils.invokeMethod(certificateJobService, "process", jobId);
+    }
+
+    private CertificateJob reload() {
+        return certificateJobRepository.findById(jobId).orElseThrow();
+    }
+
+    private static Proof approvedProof() {
+        AdminUser admin = new AdminUser("Admin", "admin", "admin@x.com", "hash");
+        Event event = new Event("Drive", "d", LocalDateTime.now().minusDays(1), 10, 50);
+        event.setCreator(admin);
+        Proof proof = new Proof(new User("Jane", "jane", "jane@x.com", "hash"), event, "/uploads/p.png");
+        proof.setStatus(Proof.ProofStatus.APPROVED);
+        return proof;
+    }
+}
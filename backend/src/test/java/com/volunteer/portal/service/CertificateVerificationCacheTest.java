@@ -0,0 +1,213 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Certificate;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.CertificateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// Two cache instances over one database stand in for two application nodes
+@DataJpaTest(showSql = false)
+@Import(HibernateCacheConfig.class)
+class CertificateVerificationCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    private CertificateVerificationCache nodeA;
+    private CertificateVerificationCache nodeB;
+    private User volunteer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        AdminUser admin = entityManager.persist(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        volunteer = entityManager.persist(new User("Volunteer", "user1", "u1@x.com", "hash"));
+        event = new Event("Drive", "d", LocalDateTime.now().plusDays(30), 10, 50);
+        event.setCreator(admin);
+        entityManager.persist(event);
+
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    void certificateIssuedOnAnotherNodeIsValid() {
+        nodeA.loadKnownIds();
+        nodeB.loadKnownIds();
+
+        // Issued and registered on node B only; node A's filter has never seen it
+        issue("CERT-BBBB0001");
+        nodeB.registerIssued("CERT-BBBB0001");
+
+        CertificateVerificationCache.VerificationRecord record = nodeA.find("CERT-BBBB0001");
+        assertThat(record).isNotNull();
+        assertThat(record.getVolunteerName()).isEqualTo("Volunteer");
+        assertThat(record.getEventTitle()).isEqualTo("Drive");
+    }
+
+    @Test
+    void certificateIssuedBeforeStartupIsValid() {
+        issue("CERT-AAAA0001");
+        nodeA.loadKnownIds();
+
+        assertThat(nodeA.find("CERT-AAAA0001")).isNotNull();
+    }
+
+    @Test
+    void unknownIdIsInvalid() {
+        issue("CERT-AAAA0001");
+        nodeA.loadKnownIds();
+
+        assertThat(nodeA.find("CERT-NOPE0000")).isNull();
+        assertThat(nodeA.find(null)).isNull();
+    }
+
+    @Test
+    void lookupBeforeStartupLoadStillConsultsTheDatabase() {
+        issue("CERT-AAAA0001");
+
+        assertThat(nodeA.find("CERT-AAAA0001")).isNotNull();
+    }
+
+    @Test
+    void registrationsSurviveFilterRebuilds() {
+        nodeA.loadKnownIds();
+
+        // Far past the initial capacity, so the filter is rebuilt several times while ids arrive
+        for (int i = 0; i < 3000; i++) {
+            String id = String.format("CERT-%08d", i);
+            issue(id);
+            nodeA.registerIssued(id);
+        }
+
+        for (int i = 0; i < 3000; i += 97) {
+            assertThat(nodeA.find(String.format("CERT-%08d", i))).isNotNull();
+        }
+    }
+
+    @Test
+    void unknownIdsBetweenCatchUpsNeverReachTheDatabase() {
+        CertificateRepository counted = mock(CertificateRepository.class, delegatesTo(certificateRepository));
+        CertificateVerificationCache node = newNode(counted, 60_000, 60_000);
+        node.loadKnownIds();
+        clearInvocations(counted);
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(node.find(String.format("CERT-BOGUS%03d", i))).isNull();
+        }
+
+        verifyNoInteractions(counted);
+    }
+
+    @Test
+    void missDoesNotWaitForASyncInProgress() throws Exception {
+        CertificateRepository counted = mock(CertificateRepository.class, delegatesTo(certificateRepository));
+        CertificateVerificationCache node = newNode(counted, 0, 60_000);
+        node.loadKnownIds();
+        clearInvocations(counted);
+
+        ReentrantLock filterLock = (ReentrantLock) ReflectionTestUtils.getField(node, "filterLock");
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread syncer = new Thread(() -> {
+            filterLock.lock();
+            try {
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                filterLock.unlock();
+            }
+        });
+        syncer.start();
+        held.await();
+        try {
+            long start = System.nanoTime();
+            assertThat(node.find("CERT-BOGUS000")).isNull();
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+            verifyNoInteractions(counted);
+        } finally {
+            release.countDown();
+            syncer.join();
+        }
+    }
+
+    @Test
+    void scheduledSyncPicksUpCertificatesFromOtherNodes() {
+        CertificateVerificationCache node = newNode(certificateRepository, 60_000, 60_000);
+        node.loadKnownIds();
+
+        issue("CERT-BBBB0002");
+        // Inside the catch-up interval, so the miss is answered from the filter as it was
+        assertThat(node.find("CERT-BBBB0002")).isNull();
+
+        node.syncIssued();
+        assertThat(node.find("CERT-BBBB0002")).isNotNull();
+    }
+
+    @Test
+    void recordsDeletedElsewhereExpire() throws Exception {
+        CertificateVerificationCache node = newNode(certificateRepository, 0, 200);
+        issue("CERT-AAAA0002");
+        node.loadKnownIds();
+        assertThat(node.find("CERT-AAAA0002")).isNotNull();
+
+        // Deleted through another node, whose invalidate() never reaches this one
+        certificateRepository.delete(certificateRepository.findByCertificateId("CERT-AAAA0002").orElseThrow());
+        entityManager.flush();
+        assertThat(node.find("CERT-AAAA0002")).isNotNull();
+
+        Thread.sleep(300);
+        assertThat(node.find("CERT-AAAA0002")).isNull();
+    }
+
+    private CertificateVerificationCache newNode() {
+        return newNode(certificateRepository, 0, 60_000);
+    }
+
+    private CertificateVerificationCache newNode(CertificateRepository repository, long catchUpIntervalMillis,
+                                                 long recordTtlMillis) {
+        CertificateVerificationCache cache = new CertificateVerificationCache();
+        ReflectionTestUtils.setField(cache, "certificateRepository", repository);
+        ReflectionTestUtils.setField(cache, "cacheSize", 100);
+        ReflectionTestUtils.setField(cache, "expectedCertificates", 1024);
+        ReflectionTestUtils.setField(cache, "catchUpIntervalMillis", catchUpIntervalMillis);
+        ReflectionTestUtils.setField(cache, "recordTtlMillis", recordTtlMillis);
+        return cache;
+    }
+
+    private void issue(String certificateId) {
+        Proof proof = new Proof(volunteer, event, "uploads/" + certificateId + ".png");
+        proof.setStatus(Proof.ProofStatus.APPROVED);
+        proof.setPointsAwarded(10);
+        entityManager.persist(proof);
+        entityManager.persist(new Certificate(certificateId, volunteer, event, proof,
+                "/certificates/" + certificateId + ".pdf"));
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,120 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.dto.DashboardDto;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.entity.UserStats;
+import com.volunteer.portal.repository.AdminUserRepository;
+import com.volunteer.portal.repository.EventRepository;
+import com.volunteer.portal.repository.RegistrationRepository;
+import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.repository.UserStatsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Committed data, so the event count can be served from the query cache as it is in production
+@DataJpaTest(showSql = false)
+@Import({DashboardService.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    private User volunteer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        AdminUser admin = adminUserRepository.save(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        volunteer = userRepository.save(new User("Jane", "jane", "jane@x.com", "hash"));
+        for (int i = 0; i < 3; i++) {
+            event = new Event("Drive " + i, "d", LocalDateTime.now().plusDays(30), 10, 50);
+            event.setCategory("Environmental");
+            event.setCreator(admin);
+            event = eventRepository.save(event);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userStatsRepository.deleteAll();
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        adminUserRepository.deleteAll();
+    }
+
+    @Test
+    void warmDashboardIsOneStatement() {
+        UserStats stats = new UserStats();
+        stats.setUserId(volunteer.getId());
+        stats.setAppliedEvents(2L);
+        stats.setTotalPoints(40);
+        userStatsRepository.save(stats);
+        dashboardService.getUserDashboard("jane@x.com");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        DashboardDto dashboard = dashboardService.getUserDashboard("jane@x.com");
+
+        assertThat(dashboard.getTotalEvents()).isEqualTo(3);
+        assertThat(dashboard.getAppliedEvents()).isEqualTo(2);
+        assertThat(dashboard.getTotalPoints()).isEqualTo(40);
+        // Account and counters joined; the event count comes from the query cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void accountWithoutCountersFallsBackToTheSourceTables() {
+        registrationRepository.save(new Registration(volunteer, event));
+
+        DashboardDto dashboard = dashboardService.getUserDashboard("jane@x.com");
+
+        assertThat(dashboard.getTotalEvents()).isEqualTo(3);
+        assertThat(dashboard.getAppliedEvents()).isEqualTo(1);
+        assertThat(dashboard.getCompletedEvents()).isZero();
+    }
+
+    @Test
+    void unknownAccountIsNotFound() {
+        assertThatThrownBy(() -> dashboardService.getUserDashboard("nobody@x.com"))
+                .hasMessage("User not found");
+    }
+}
@@ -0,0 +1,102 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.dto.EventDto;
+import com.volunteer.portal.dto.EventPageDto;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.repository.AdminUserRepository;
+import com.volunteer.portal.repository.EventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Events from before created_at was always set must still be reachable through keyset cursors
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({EventService.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventCursorPagingTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AdminUser admin = adminUserRepository.save(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        for (int i = 0; i < 5; i++) {
+            Event event = new Event("Drive " + i, "d", LocalDateTime.now().plusDays(30), 10, 50);
+            event.setCategory("Environmental");
+            event.setCreator(admin);
+            ids.add(eventRepository.save(event).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        adminUserRepository.deleteAll();
+        jdbcTemplate.execute("ALTER TABLE events ALTER COLUMN created_at SET NOT NULL");
+    }
+
+    @Test
+    void legacyRowsAreBackfilledAndPagedLast() {
+        // A schema from before the column was NOT NULL, with two undated rows
+        jdbcTemplate.execute("ALTER TABLE events ALTER COLUMN created_at SET NULL");
+        jdbcTemplate.update("UPDATE events SET created_at = NULL WHERE id IN (?, ?)", ids.get(1), ids.get(3));
+        entityManagerFactory.getCache().evictAll();
+        // Puts the undated row into the second-level cache
+        assertThat(eventService.getEventById(ids.get(1)).getCreatedAt()).isNull();
+
+        eventService.backfillCreatedAt();
+
+        assertThat(eventService.getEventById(ids.get(1)).getCreatedAt()).isNotNull();
+        List<Long> paged = pageThroughAll(2);
+        assertThat(paged).containsExactlyInAnyOrderElementsOf(ids);
+        // Dated like the oldest event, so they share its place and fall back to id order
+        assertThat(paged.subList(2, 5)).containsExactly(ids.get(3), ids.get(1), ids.get(0));
+    }
+
+    private List<Long> pageThroughAll(int limit) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            EventPageDto page = eventService.getEventPage(cursor, limit, null, null, null);
+            page.getEvents().stream().map(EventDto::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+}
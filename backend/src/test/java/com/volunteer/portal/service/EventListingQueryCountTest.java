@@ -0,0 +1,122 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.dto.EventDto;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Listing endpoints must cost the same number of statements whatever the catalogue size
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({EventService.class, HibernateCacheConfig.class})
+class EventListingQueryCountTest {
+
+    private static final int REGISTRATIONS_PER_EVENT = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventService eventService;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private StatementCounter counter;
+    private AdminUser admin;
+    private List<User> volunteers;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory, entityManager.getEntityManager());
+        admin = entityManager.persist(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        volunteers = List.of(
+                entityManager.persist(new User("U1", "user1", "u1@x.com", "hash")),
+                entityManager.persist(new User("U2", "user2", "u2@x.com", "hash")),
+                entityManager.persist(new User("U3", "user3", "u3@x.com", "hash")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 60})
+    void getAllEventsUsesTwoStatements(int eventCount) {
+        seedEvents(eventCount);
+
+        StatementCounter.Counted<List<EventDto>> counted = counter.count(eventService::getAllEvents);
+
+        assertThat(counted.getResult()).hasSize(eventCount)
+                .allSatisfy(dto -> assertThat(dto.getRegisteredVolunteers()).isEqualTo(REGISTRATIONS_PER_EVENT));
+        // Events, then one grouped registration count
+        assertThat(counted.getStatements()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 60})
+    void getEventsByCategoryUsesTwoStatements(int eventCount) {
+        seedEvents(eventCount);
+
+        StatementCounter.Counted<List<EventDto>> counted =
+                counter.count(() -> eventService.getEventsByCategory("Environmental"));
+
+        assertThat(counted.getResult()).hasSize(eventCount);
+        assertThat(counted.getStatements()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 60})
+    void getRegisteredEventsUsesThreeStatements(int eventCount) {
+        seedEvents(eventCount);
+
+        StatementCounter.Counted<List<EventDto>> counted =
+                counter.count(() -> eventService.getRegisteredEvents("u1@x.com"));
+
+        assertThat(counted.getResult()).hasSize(eventCount);
+        // User, registrations with their events, grouped count
+        assertThat(counted.getStatements()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 60})
+    void getEventsByCreatorUsesThreeStatements(int eventCount) {
+        seedEvents(eventCount);
+
+        StatementCounter.Counted<List<EventDto>> counted =
+                counter.count(() -> eventService.getEventsByCreator("admin@x.com"));
+
+        assertThat(counted.getResult()).hasSize(eventCount);
+        // Admin, events, grouped count
+        assertThat(counted.getStatements()).isEqualTo(3);
+    }
+
+    private void seedEvents(int eventCount) {
+        for (int i = 0; i < eventCount; i++) {
+            Event event = new Event("Drive " + i, "d", LocalDateTime.now().plusDays(30), 10, 50);
+            event.setCategory("Environmental");
+            event.setCreator(admin);
+            entityManager.persist(event);
+            for (User volunteer : volunteers) {
+                entityManager.persist(new Registration(volunteer, event));
+            }
+        }
+    }
+}
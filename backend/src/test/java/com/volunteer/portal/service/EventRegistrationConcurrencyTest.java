@@ -0,0 +1,223 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.entity.WaitlistEntry;
+import com.volunteer.portal.repository.AdminUserRepository;
+import com.volunteer.portal.repository.EventRepository;
+import com.volunteer.portal.repository.RegistrationRepository;
+import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.repository.WaitlistRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+// Every service call commits on its own, as it does behind the controllers
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({EventService.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventRegistrationConcurrencyTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private AdminUser admin;
+    private User first;
+    private User second;
+    private User third;
+
+    @BeforeEach
+    void setUp() {
+        admin = adminUserRepository.save(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        first = userRepository.save(new User("First", "user1", "u1@x.com", "hash"));
+        second = userRepository.save(new User("Second", "user2", "u2@x.com", "hash"));
+        third = userRepository.save(new User("Third", "user3", "u3@x.com", "hash"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistRepository.deleteAll();
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        adminUserRepository.deleteAll();
+        // Restores the unique key if a test dropped it
+        eventService.ensureUniqueRegistrations();
+    }
+
+    @Test
+    void doubleSubmitForTheLastSeatRegistersOnce() throws Exception {
+        Event event = newEvent(1);
+
+        // The first request holds the seat, uncommitted, until the second is queued behind it
+        CountDownLatch seatTaken = new CountDownLatch(1);
+        AtomicBoolean firstCall = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (firstCall.getAndSet(false)) {
+                seatTaken.countDown();
+                Thread.sleep(300);
+            }
+            return null;
+        }).when(userStatsService).registrationAdded(anyLong());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> winner = pool.submit(() -> register(event));
+            Future<String> loser = pool.submit(() -> {
+                seatTaken.await(5, TimeUnit.SECONDS);
+                return register(event);
+            });
+
+            assertThat(List.of(winner.get(10, TimeUnit.SECONDS), loser.get(10, TimeUnit.SECONDS)))
+                    .containsExactly(EventService.REGISTERED, "Already registered for this event");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(registrationRepository.findByEvent(event)).hasSize(1);
+        assertThat(waitlistRepository.countByEvent(event)).isZero();
+        assertThat(registeredCount(event)).isEqualTo(1);
+    }
+
+    @Test
+    void promotionSkipsWaitlistedUsersWhoAlreadyHaveASeat() {
+        // Left over from an earlier double submit: first is registered and still waitlisted
+        Event event = newEvent(2);
+        registrationRepository.save(new Registration(first, event));
+        registrationRepository.save(new Registration(third, event));
+        waitlistRepository.save(new WaitlistEntry(first, event));
+        waitlistRepository.save(new WaitlistEntry(second, event));
+        eventService.syncRegisteredCounts();
+
+        eventService.unregisterFromEvent(event.getId(), "u3@x.com");
+
+        assertThat(registrationRepository.findByEvent(event))
+                .extracting(registration -> registration.getUser().getId())
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(waitlistRepository.countByEvent(event)).isZero();
+        assertThat(registeredCount(event)).isEqualTo(2);
+    }
+
+    @Test
+    void unregisterClearsBothWaitlistAndRegistration() {
+        Event event = newEvent(1);
+        registrationRepository.save(new Registration(first, event));
+        waitlistRepository.save(new WaitlistEntry(first, event));
+        waitlistRepository.save(new WaitlistEntry(second, event));
+        eventService.syncRegisteredCounts();
+
+        eventService.unregisterFromEvent(event.getId(), "u1@x.com");
+
+        assertThat(registrationRepository.findByUserAndEvent(first, event)).isEmpty();
+        assertThat(waitlistRepository.findByUserAndEvent(first, event)).isEmpty();
+        // The freed seat goes to the next in line
+        assertThat(registrationRepository.findByUserAndEvent(second, event)).isPresent();
+    }
+
+    @Test
+    void registrationKeepsTheEventCached() {
+        Event event = newEvent(5);
+        eventService.getEventById(event.getId());
+        assertThat(entityManagerFactory.getCache().contains(Event.class, event.getId())).isTrue();
+
+        assertThat(register(event)).isEqualTo(EventService.REGISTERED);
+        eventService.unregisterFromEvent(event.getId(), "u1@x.com");
+
+        assertThat(entityManagerFactory.getCache().contains(Event.class, event.getId())).isTrue();
+        assertThat(registeredCount(event)).isZero();
+    }
+
+    @Test
+    void duplicateSignUpsAreRemovedBeforeTheUniqueKeyIsAdded() {
+        // A schema where ddl-auto could not add the key because duplicates were already there
+        jdbcTemplate.execute("ALTER TABLE registrations DROP CONSTRAINT uk_registration_user_event");
+        Event event = newEvent(5);
+        Long kept = registrationRepository.save(new Registration(first, event)).getId();
+        registrationRepository.save(new Registration(first, event));
+        registrationRepository.save(new Registration(first, event));
+        registrationRepository.save(new Registration(second, event));
+        eventService.syncRegisteredCounts();
+        assertThat(registeredCount(event)).isEqualTo(4);
+
+        eventService.ensureUniqueRegistrations();
+
+        assertThat(registrationRepository.findByUserAndEvent(first, event))
+                .hasValueSatisfying(registration -> assertThat(registration.getId()).isEqualTo(kept));
+        assertThat(registrationRepository.findByEvent(event)).hasSize(2);
+        assertThat(registeredCount(event)).isEqualTo(2);
+        assertThatThrownBy(() -> registrationRepository.save(new Registration(second, event)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // The column, not the entity field: seat updates bypass the cached entity
+    private int registeredCount(Event event) {
+        return jdbcTemplate.queryForObject("SELECT registered_count FROM events WHERE id = ?", Integer.class, event.getId());
+    }
+
+    private String register(Event event) {
+        try {
+            return eventService.registerForEvent(event.getId(), "u1@x.com");
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private Event newEvent(int maxVolunteers) {
+        Event event = new Event("Drive", "d", LocalDateTime.now().plusDays(30), 10, maxVolunteers);
+        event.setCategory("Environmental");
+        event.setCreator(admin);
+        return eventRepository.save(event);
+    }
+}
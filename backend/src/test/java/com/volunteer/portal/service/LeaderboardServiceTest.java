@@ -0,0 +1,43 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceTest {
+
+    @Test
+    void reconcilePicksUpPointsAwardedOnAnotherNode() {
+        User jane = user(1L, "jane@x.com", 10);
+        User john = user(2L, "john@x.com", 20);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findLeaderboard()).thenReturn(List.of(john, jane));
+
+        LeaderboardService service = new LeaderboardService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "leaderboardIndex", new LeaderboardIndex());
+        service.loadLeaderboardIndex();
+        assertThat(service.getRank("jane@x.com").getRank()).isEqualTo(2);
+
+        // Another node approved Jane's proof; this node's index never saw the write
+        when(userRepository.findLeaderboard()).thenReturn(List.of(user(1L, "jane@x.com", 50), john));
+        service.reconcileLeaderboardIndex();
+
+        assertThat(service.getRank("jane@x.com").getRank()).isEqualTo(1);
+        assertThat(service.getRank("jane@x.com").getPoints()).isEqualTo(50);
+    }
+
+    private static User user(Long id, String email, int points) {
+        User user = new User("Name " + id, "user" + id, email, "hash");
+        user.setId(id);
+        user.setTotalPoints(points);
+        return user;
+    }
+}
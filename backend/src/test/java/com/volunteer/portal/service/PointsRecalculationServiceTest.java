@@ -0,0 +1,128 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.AdminUserRepository;
+import com.volunteer.portal.repository.EventRepository;
+import com.volunteer.portal.repository.ProofRepository;
+import com.volunteer.portal.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The job manages its own per-chunk transactions, so nothing here runs inside a test transaction
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({PointsRecalculationService.class, LeaderboardIndex.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PointsRecalculationServiceTest {
+
+    @Autowired
+    private PointsRecalculationService pointsRecalculationService;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProofRepository proofRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    private AdminUser admin;
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pointsRecalculationService, "batchSize", 1);
+        admin = adminUserRepository.save(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        first = userRepository.save(new User("First", "user1", "u1@x.com", "hash"));
+        second = userRepository.save(new User("Second", "user2", "u2@x.com", "hash"));
+        approve(first, 40);
+        approve(second, 1500);
+        leaderboardIndex.rebuild(userRepository.findLeaderboard());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT IF EXISTS ck_points_cap");
+        jdbcTemplate.update("UPDATE users SET total_points = 0 WHERE total_points IS NULL");
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN total_points SET NOT NULL");
+        proofRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        adminUserRepository.deleteAll();
+    }
+
+    @Test
+    void driftedTotalsAreRewritten() {
+        assertThat(pointsRecalculationService.recalculate()).isEqualTo(2);
+
+        assertThat(totalPoints(first)).isEqualTo(40);
+        assertThat(totalPoints(second)).isEqualTo(1500);
+        assertThat(leaderboardIndex.findByEmail("u2@x.com").getPoints()).isEqualTo(1500);
+    }
+
+    @Test
+    void nullTotalsAreTreatedAsDrift() {
+        // Rows written before the column was NOT NULL
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN total_points SET NULL");
+        jdbcTemplate.update("UPDATE users SET total_points = NULL WHERE id = ?", first.getId());
+
+        assertThat(pointsRecalculationService.recalculate()).isEqualTo(2);
+
+        assertThat(totalPoints(first)).isEqualTo(40);
+    }
+
+    @Test
+    void failedBatchRollsBackTheWholeChunk() {
+        // The second user's batch fails after the first user's batch was already sent
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT ck_points_cap CHECK (total_points < 1000)");
+
+        assertThatThrownBy(() -> pointsRecalculationService.recalculate()).isInstanceOf(RuntimeException.class);
+
+        assertThat(totalPoints(first)).isZero();
+        assertThat(leaderboardIndex.findByEmail("u1@x.com").getPoints()).isZero();
+    }
+
+    private Integer totalPoints(User user) {
+        return jdbcTemplate.queryForObject("SELECT total_points FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+
+    private void approve(User user, int points) {
+        Event event = new Event("Drive " + points, "d", LocalDateTime.now().minusDays(1), points, 50);
+        event.setCategory("Environmental");
+        event.setCreator(admin);
+        event = eventRepository.save(event);
+        Proof proof = new Proof(user, event, "/uploads/" + points + ".png");
+        proof.setStatus(Proof.ProofStatus.APPROVED);
+        proof.setPointsAwarded(points);
+        proofRepository.save(proof);
+    }
+}
@@ -0,0 +1,200 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.AdminUserRepository;
+import com.volunteer.portal.repository.EventRepository;
+import com.volunteer.portal.repository.ProofRepository;
+import com.volunteer.portal.repository.RegistrationRepository;
+import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.storage.BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Overlapping reviews: every approved proof is credited exactly once
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofService.class, LeaderboardIndex.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProofApprovalPointsTest {
+
+    @Autowired
+    private ProofService proofService;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProofRepository proofRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    @MockBean
+    private CertificateService certificateService;
+
+    @MockBean
+    private CertificateJobService certificateJobService;
+
+    @MockBean
+    private CertificateVerificationCache verificationCache;
+
+    @MockBean
+    private ProofBlobService proofBlobService;
+
+    @MockBean
+    private BlobStore blobStore;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private AdminUser admin;
+    private User volunteer;
+
+    @BeforeEach
+    void setUp() {
+        admin = adminUserRepository.save(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        volunteer = userRepository.save(new User("Jane", "jane", "jane@x.com", "hash"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        proofRepository.deleteAll();
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        adminUserRepository.deleteAll();
+    }
+
+    @Test
+    void overlappingApprovalsForOneVolunteerBothCount() {
+        Long first = pendingProof(10);
+        Long second = pendingProof(25);
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(status -> {
+            // This approval has already read the volunteer at 0 points...
+            assertThat(userRepository.findById(volunteer.getId()).orElseThrow().getTotalPoints()).isZero();
+
+            // ...when another admin's approval commits underneath it
+            inner.executeWithoutResult(s -> proofService.approveProof(second));
+
+            proofService.approveProof(first);
+        });
+
+        assertThat(userRepository.findById(volunteer.getId()).orElseThrow().getTotalPoints()).isEqualTo(35);
+        assertThat(leaderboardIndex.findByEmail("jane@x.com").getPoints()).isEqualTo(35);
+    }
+
+    @Test
+    void concurrentApprovalsOfOneProofCreditOnce() throws Exception {
+        Long proofId = pendingProof(10);
+
+        List<Throwable> failures = reviewConcurrently(
+                () -> proofService.approveProof(proofId),
+                () -> proofService.approveProof(proofId));
+
+        assertThat(failures).singleElement()
+                .satisfies(e -> assertThat(e).hasMessage("Proof is not pending"));
+        assertThat(userRepository.findById(volunteer.getId()).orElseThrow().getTotalPoints()).isEqualTo(10);
+    }
+
+    @Test
+    void approvalRacingARejectionLeavesOneDecision() throws Exception {
+        Long proofId = pendingProof(10);
+
+        List<Throwable> failures = reviewConcurrently(
+                () -> proofService.approveProof(proofId),
+                () -> proofService.rejectProof(proofId, "Blurry photo"));
+
+        assertThat(failures).hasSize(1);
+        Proof proof = proofRepository.findById(proofId).orElseThrow();
+        int expectedPoints = proof.getStatus() == Proof.ProofStatus.APPROVED ? 10 : 0;
+        assertThat(userRepository.findById(volunteer.getId()).orElseThrow().getTotalPoints()).isEqualTo(expectedPoints);
+    }
+
+    // Both reviewers have read the proof as PENDING before either decides, as two admins on two nodes would
+    private List<Throwable> reviewConcurrently(Runnable first, Runnable second) throws Exception {
+        CyclicBarrier bothLoaded = new CyclicBarrier(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable review : List.of(first, second)) {
+                futures.add(pool.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    proofRepository.findAll();
+                    await(bothLoaded);
+                    review.run();
+                })));
+            }
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long pendingProof(int points) {
+        Event event = new Event("Drive " + points, "d", LocalDateTime.now().minusDays(1), points, 50);
+        event.setCategory("Environmental");
+        event.setCreator(admin);
+        event = eventRepository.save(event);
+        registrationRepository.save(new Registration(volunteer, event));
+        return proofRepository.save(new Proof(volunteer, event, "/uploads/" + points + ".png")).getId();
+    }
+}
@@ -0,0 +1,129 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.storage.BlobStore;
+import com.volunteer.portal.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The approve endpoint (ownership check + approval) must not slow down as an admin's proof history grows
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofService.class, CertificateService.class, CertificateJobService.class, ProofBlobService.class,
+        HibernateCacheConfig.class})
+class ProofApprovalScalingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProofService proofService;
+
+    @MockBean
+    private CertificateTemplate certificateTemplate;
+
+    @MockBean
+    private CertificateVerificationCache verificationCache;
+
+    @MockBean
+    private LeaderboardIndex leaderboardIndex;
+
+    @MockBean
+    private BlobStore blobStore;
+
+    @MockBean
+    private ProofThumbnailService proofThumbnailService;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private StatementCounter counter;
+    private AdminUser admin;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory, entityManager.getEntityManager());
+        admin = entityManager.persist(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+    }
+
+    @Test
+    void approvalCostDoesNotGrowWithProofHistory() {
+        seedApprovedHistory(5);
+        long small = approveCost(pendingProof());
+
+        seedApprovedHistory(500);
+        long large = approveCost(pendingProof());
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void ownershipIsOneStatement() {
+        seedApprovedHistory(200);
+        Long proofId = pendingProof();
+
+        StatementCounter.Counted<Boolean> owned = counter.count(() -> proofService.isOwnedByAdmin(proofId, "admin@x.com"));
+        StatementCounter.Counted<Boolean> foreign = counter.count(() -> proofService.isOwnedByAdmin(proofId, "other@x.com"));
+
+        assertThat(owned.getResult()).isTrue();
+        assertThat(foreign.getResult()).isFalse();
+        assertThat(owned.getStatements()).isEqualTo(1);
+    }
+
+    // Statements for what AdminController does on approve, flushed so deferred updates are counted too
+    private long approveCost(Long proofId) {
+        return counter.count(() -> {
+            assertThat(proofService.isOwnedByAdmin(proofId, "admin@x.com")).isTrue();
+            proofService.approveProof(proofId);
+            entityManager.flush();
+            return null;
+        }).getStatements();
+    }
+
+    private Long pendingProof() {
+        Proof proof = newProof();
+        entityManager.flush();
+        return proof.getId();
+    }
+
+    private void seedApprovedHistory(int count) {
+        for (int i = 0; i < count; i++) {
+            Proof proof = newProof();
+            proof.setStatus(Proof.ProofStatus.APPROVED);
+            proof.setPointsAwarded(10);
+            proof.setReviewedAt(LocalDateTime.now());
+        }
+        entityManager.flush();
+    }
+
+    private Proof newProof() {
+        int n = seeded++;
+        User volunteer = entityManager.persist(new User("Volunteer " + n, "user" + n, "u" + n + "@x.com", "hash"));
+        Event event = new Event("Drive " + n, "d", LocalDateTime.now().plusDays(30), 10, 50);
+        event.setCategory("Environmental");
+        event.setCreator(admin);
+        entityManager.persist(event);
+        entityManager.persist(new Registration(volunteer, event));
+        return entityManager.persist(new Proof(volunteer, event, "/uploads/" + n + ".png"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.repository.ProofBlobRepository;
+import com.volunteer.portal.storage.BlobStore;
+import com.volunteer.portal.storage.LocalBlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+
+// Files must follow the fate of the transaction that referenced or released them
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofBlobService.class, LocalBlobStore.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProofBlobServiceTest {
+
+    private static final Path ROOT = createRoot();
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.type", () -> "local");
+        registry.add("storage.local.root", ROOT::toString);
+    }
+
+    @Autowired
+    private ProofBlobService proofBlobService;
+
+    @Autowired
+    private ProofBlobRepository proofBlobRepository;
+
+    @SpyBean
+    private BlobStore blobStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ProofThumbnailService proofThumbnailService;
+
+    private TransactionTemplate transaction;
+    private MockMultipartFile photo;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        photo = new MockMultipartFile("file", "photo.png", "image/png",
+                ("photo " + System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        proofBlobRepository.deleteAll();
+    }
+
+    @Test
+    void releasedBlobStaysUntilCommit() {
+        ProofBlobService.StoredBlob blob = transaction.execute(status -> acquire());
+
+        transaction.executeWithoutResult(status -> {
+            proofBlobService.release(blob.getSha256(), blob.getStorageKey());
+            assertThat(blobStore.exists(blob.getStorageKey())).isTrue();
+        });
+
+        assertThat(blobStore.exists(blob.getStorageKey())).isFalse();
+        assertThat(proofBlobRepository.existsById(blob.getSha256())).isFalse();
+    }
+
+    @Test
+    void rolledBackReleaseKeepsBlob() {
+        ProofBlobService.StoredBlob blob = transaction.execute(status -> acquire());
+
+        transaction.executeWithoutResult(status -> {
+            proofBlobService.release(blob.getSha256(), blob.getStorageKey());
+            status.setRollbackOnly();
+        });
+
+        assertThat(blobStore.exists(blob.getStorageKey())).isTrue();
+        assertThat(proofBlobRepository.findById(blob.getSha256()).orElseThrow().getRefCount()).isEqualTo(1);
+    }
+
+    @Test
+    void blobUploadedByRolledBackTransactionIsRemoved() {
+        String[] storageKey = new String[1];
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            storageKey[0] = acquire().getStorageKey();
+            throw new IllegalStateException("proof insert failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(blobStore.exists(storageKey[0])).isFalse();
+        assertThat(proofBlobRepository.count()).isZero();
+    }
+
+    @Test
+    void reacquireBeforeReleaseKeepsBlob() {
+        ProofBlobService.StoredBlob blob = transaction.execute(status -> acquire());
+
+        // Same bytes uploaded again in place of a rejected proof
+        transaction.executeWithoutResult(status -> {
+            acquire();
+            proofBlobService.release(blob.getSha256(), blob.getStorageKey());
+        });
+
+        assertThat(blobStore.exists(blob.getStorageKey())).isTrue();
+        assertThat(proofBlobRepository.findById(blob.getSha256()).orElseThrow().getRefCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedThumbnailDeleteStillRemovesTheRow() throws IOException {
+        ProofBlobService.StoredBlob blob = transaction.execute(status -> acquire());
+        doThrow(new IOException("thumbnail store unavailable"))
+                .when(blobStore).delete(ProofThumbnailService.thumbnailKeyFor(blob.getSha256()));
+
+        transaction.executeWithoutResult(status -> proofBlobService.release(blob.getSha256(), blob.getStorageKey()));
+
+        assertThat(blobStore.exists(blob.getStorageKey())).isFalse();
+        assertThat(proofBlobRepository.existsById(blob.getSha256())).isFalse();
+
+        // The same bytes again are uploaded afresh, not pointed at the deleted file
+        ProofBlobService.StoredBlob again = transaction.execute(status -> acquire());
+        assertThat(blobStore.exists(again.getStorageKey())).isTrue();
+        assertThat(proofBlobRepository.findById(again.getSha256()).orElseThrow().getRefCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sweeperPurgesRowsLeftAtZero() {
+        ProofBlobService.StoredBlob blob = transaction.execute(status -> acquire());
+        // As if the node stopped between the commit and the purge
+        transaction.executeWithoutResult(status ->
+                proofBlobRepository.decrementRefCount(blob.getSha256(), blob.getStorageKey()));
+
+        proofBlobService.sweepUnreferenced();
+
+        assertThat(blobStore.exists(blob.getStorageKey())).isFalse();
+        assertThat(proofBlobRepository.existsById(blob.getSha256())).isFalse();
+    }
+
+    private ProofBlobService.StoredBlob acquire() {
+        try {
+            return proofBlobService.acquire(photo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createRoot() {
+        try {
+            return Files.createTempDirectory("proof-blobs");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
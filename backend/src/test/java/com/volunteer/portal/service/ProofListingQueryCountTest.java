@@ -0,0 +1,152 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.dto.ProofDto;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Certificate;
+import com.volunteer.portal.entity.CertificateJob;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.ProofBlob;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.storage.BlobStore;
+import com.volunteer.portal.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Proof lists must cost the same number of statements whatever their length
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofService.class, CertificateService.class, CertificateJobService.class, ProofBlobService.class,
+        HibernateCacheConfig.class})
+class ProofListingQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProofService proofService;
+
+    @MockBean
+    private CertificateTemplate certificateTemplate;
+
+    @MockBean
+    private CertificateVerificationCache verificationCache;
+
+    @MockBean
+    private LeaderboardIndex leaderboardIndex;
+
+    @MockBean
+    private BlobStore blobStore;
+
+    @MockBean
+    private ProofThumbnailService proofThumbnailService;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private StatementCounter counter;
+    private AdminUser admin;
+    private User volunteer;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory, entityManager.getEntityManager());
+        admin = entityManager.persist(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        volunteer = entityManager.persist(new User("U1", "user1", "u1@x.com", "hash"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 12, 45})
+    void getUserProofsUsesFourStatements(int proofCount) {
+        seedProofs(proofCount);
+
+        StatementCounter.Counted<List<ProofDto>> counted = counter.count(() -> proofService.getUserProofs("u1@x.com"));
+
+        assertDtos(counted.getResult(), proofCount);
+        // User, proofs with user/event/creator, certificate ids, job statuses
+        assertThat(counted.getStatements()).isEqualTo(4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 12, 45})
+    void getAllProofsUsesFourStatements(int proofCount) {
+        seedProofs(proofCount);
+
+        StatementCounter.Counted<List<ProofDto>> counted = counter.count(proofService::getAllProofs);
+
+        assertDtos(counted.getResult(), proofCount);
+        // Blobs, proofs with user/event/creator, certificate ids, job statuses
+        assertThat(counted.getStatements()).isEqualTo(4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 12, 45})
+    void getProofsByAdminUsesFiveStatements(int proofCount) {
+        seedProofs(proofCount);
+
+        StatementCounter.Counted<List<ProofDto>> counted =
+                counter.count(() -> proofService.getProofsByAdmin("admin@x.com"));
+
+        assertDtos(counted.getResult(), proofCount);
+        assertThat(counted.getStatements()).isEqualTo(5);
+    }
+
+    private static void assertDtos(List<ProofDto> dtos, int proofCount) {
+        assertThat(dtos).hasSize(proofCount)
+                .allSatisfy(dto -> assertThat(dto.getEventCoordinatorName()).isEqualTo("Admin"));
+        assertThat(dtos).filteredOn(dto -> dto.getCertificateId() != null).hasSize(proofCount / 3);
+        assertThat(dtos).filteredOn(dto -> "PENDING".equals(dto.getCertificateStatus())).hasSize(proofCount / 3);
+    }
+
+    // Thirds: approved with a certificate, approved with a queued job, pending review
+    private void seedProofs(int proofCount) {
+        for (int i = 0; i < proofCount; i++) {
+            Event event = new Event("Drive " + i, "d", LocalDateTime.now().plusDays(30), 10, 50);
+            event.setCategory("Environmental");
+            event.setCreator(admin);
+            entityManager.persist(event);
+            entityManager.persist(new Registration(volunteer, event));
+
+            String sha256 = String.format("%064d", i);
+            ProofBlob blob = new ProofBlob();
+            blob.setSha256(sha256);
+            blob.setStorageKey("uploads/" + sha256 + ".png");
+            blob.setSizeBytes(1L);
+            blob.setRefCount(1);
+            entityManager.persist(blob);
+
+            Proof proof = new Proof(volunteer, event, blob.getStorageKey());
+            proof.setStorageKey(blob.getStorageKey());
+            proof.setChecksumSha256(sha256);
+            if (i % 3 != 2) {
+                proof.setStatus(Proof.ProofStatus.APPROVED);
+                proof.setPointsAwarded(10);
+            }
+            entityManager.persist(proof);
+
+            if (i % 3 == 0) {
+                entityManager.persist(new Certificate("CERT-" + i, volunteer, event, proof, "certificates/" + i + ".pdf"));
+            } else if (i % 3 == 1) {
+                entityManager.persist(new CertificateJob(proof.getId()));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.dto.ProofDto;
+import com.volunteer.portal.dto.ProofPageDto;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.repository.AdminUserRepository;
+import com.volunteer.portal.repository.EventRepository;
+import com.volunteer.portal.repository.ProofRepository;
+import com.volunteer.portal.repository.UserRepository;
+import com.volunteer.portal.storage.BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Proofs from before submitted_at was NOT NULL must still be reachable through the review queue's cursors
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofService.class, HibernateCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProofQueuePagingTest {
+
+    @Autowired
+    private ProofService proofService;
+
+    @Autowired
+    private ProofRepository proofRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private CertificateService certificateService;
+
+    @MockBean
+    private CertificateJobService certificateJobService;
+
+    @MockBean
+    private CertificateVerificationCache verificationCache;
+
+    @MockBean
+    private LeaderboardIndex leaderboardIndex;
+
+    @MockBean
+    private ProofBlobService proofBlobService;
+
+    @MockBean
+    private BlobStore blobStore;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AdminUser admin = adminUserRepository.save(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        Event event = new Event("Drive", "d", LocalDateTime.now().minusDays(1), 10, 50);
+        event.setCategory("Environmental");
+        event.setCreator(admin);
+        event = eventRepository.save(event);
+        for (int i = 0; i < 5; i++) {
+            User volunteer = userRepository.save(new User("U" + i, "user" + i, "u" + i + "@x.com", "hash"));
+            Proof proof = new Proof(volunteer, event, "/uploads/" + i + ".png");
+            proof.setSubmittedAt(LocalDateTime.now().minusHours(5 - i));
+            ids.add(proofRepository.save(proof).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        proofRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        adminUserRepository.deleteAll();
+        jdbcTemplate.execute("ALTER TABLE proofs ALTER COLUMN submitted_at SET NOT NULL");
+    }
+
+    @Test
+    void legacyRowsAreBackfilledAndQueuedFirst() {
+        // A schema from before the column was NOT NULL, with two undated rows
+        jdbcTemplate.execute("ALTER TABLE proofs ALTER COLUMN submitted_at SET NULL");
+        jdbcTemplate.update("UPDATE proofs SET submitted_at = NULL WHERE id IN (?, ?)", ids.get(1), ids.get(3));
+
+        proofService.backfillSubmittedAt();
+
+        List<Long> paged = pageThroughAll(2);
+        assertThat(paged).containsExactlyInAnyOrderElementsOf(ids);
+        // Dated like the oldest proof, so they share its place and fall back to id order
+        assertThat(paged.subList(0, 3)).containsExactly(ids.get(0), ids.get(1), ids.get(3));
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThatThrownBy(() -> proofService.getReviewQueue("admin@x.com", "bm90LWEtY3Vyc29y", 2, "ALL", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private List<Long> pageThroughAll(int limit) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProofPageDto page = proofService.getReviewQueue("admin@x.com", cursor, limit, "ALL", null, null, null);
+            page.getProofs().stream().map(ProofDto::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+}
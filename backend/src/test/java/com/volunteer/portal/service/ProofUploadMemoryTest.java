@@ -0,0 +1,165 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.storage.BlobStore;
+import com.volunteer.portal.storage.LocalBlobStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load test: uploads are hashed and written through fixed buffers, so heap use must not follow file size
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofBlobService.class, LocalBlobStore.class, HibernateCacheConfig.class})
+class ProofUploadMemoryTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final Path ROOT = createRoot();
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.type", () -> "local");
+        registry.add("storage.local.root", ROOT::toString);
+    }
+
+    @AfterAll
+    static void removeRoot() throws IOException {
+        FileSystemUtils.deleteRecursively(ROOT);
+    }
+
+    @Autowired
+    private ProofBlobService proofBlobService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @MockBean
+    private ProofThumbnailService proofThumbnailService;
+
+    @Test
+    void heapUseStaysFlatAsUploadsGrow() throws IOException {
+        // Warm-up, so class loading and first-statement costs are not charged to the first size
+        upload(1 * MB, 1);
+
+        long small = upload(16 * MB, 2);
+        long large = upload(256 * MB, 3);
+
+        // Sixteen times the bytes, and neither upload allocates more than a few buffers' worth
+        assertThat(small).isLessThan(8 * MB);
+        assertThat(large).isLessThan(8 * MB);
+        assertThat(large - small).isLessThan(2 * MB);
+    }
+
+    // Bytes allocated on this thread while one upload is hashed, stored and recorded
+    private long upload(long size, int seed) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        ProofBlobService.StoredBlob blob = proofBlobService.acquire(new GeneratedFile(size, seed));
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(blobStore.get(blob.getStorageKey()).contentLength()).isEqualTo(size);
+        return allocated;
+    }
+
+    private static Path createRoot() {
+        try {
+            return Files.createTempDirectory("proof-upload-load");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A multipart part whose bytes are generated as they are read; asking for them all at once fails
+    private static final class GeneratedFile implements MultipartFile {
+        private final long size;
+        private final int seed;
+
+        GeneratedFile(long size, int seed) {
+            this.size = size;
+            this.seed = seed;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "video.mp4";
+        }
+
+        @Override
+        public String getContentType() {
+            return "video/mp4";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new UnsupportedOperationException("upload path must not buffer the whole part");
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                private long position;
+
+                @Override
+                public int read() {
+                    return position < size ? byteAt(position++) : -1;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    if (position >= size) {
+                        return -1;
+                    }
+                    int count = (int) Math.min(length, size - position);
+                    for (int i = 0; i < count; i++) {
+                        buffer[offset + i] = (byte) byteAt(position++);
+                    }
+                    return count;
+                }
+            };
+        }
+
+        private int byteAt(long position) {
+            return (int) ((position * 31 + seed) & 0xFF);
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.volunteer.portal.service;
+
+import com.volunteer.portal.config.HibernateCacheConfig;
+import com.volunteer.portal.dto.ProofDto;
+import com.volunteer.portal.entity.AdminUser;
+import com.volunteer.portal.entity.Event;
+import com.volunteer.portal.entity.Proof;
+import com.volunteer.portal.entity.Registration;
+import com.volunteer.portal.entity.User;
+import com.volunteer.portal.storage.S3BlobStore;
+import com.volunteer.portal.support.FakeS3Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uploads against an S3-compatible store, as deployed with MinIO
+@DataJpaTest(showSql = false)
+@AutoConfigureJdbc
+@Import({ProofService.class, CertificateService.class, CertificateJobService.class, ProofBlobService.class,
+        S3BlobStore.class, HibernateCacheConfig.class})
+class ProofUploadTest {
+
+    private static final FakeS3Server S3 = startS3();
+
+    @DynamicPropertySource
+    static void s3Properties(DynamicPropertyRegistry registry) {
+        registry.add("storage.type", () -> "s3");
+        registry.add("storage.s3.bucket", () -> "proofs");
+        registry.add("storage.s3.endpoint", () -> S3.endpoint().toString());
+        registry.add("storage.s3.path-style-access", () -> "true");
+        registry.add("storage.s3.access-key", () -> "minioadmin");
+        registry.add("storage.s3.secret-key", () -> "minioadmin");
+    }
+
+    @AfterAll
+    static void stopS3() {
+        S3.close();
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProofService proofService;
+
+    @MockBean
+    private CertificateTemplate certificateTemplate;
+
+    @MockBean
+    private CertificateVerificationCache verificationCache;
+
+    @MockBean
+    private LeaderboardIndex leaderboardIndex;
+
+    @MockBean
+    private ProofThumbnailService proofThumbnailService;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        S3.objects().clear();
+        AdminUser admin = entityManager.persist(new AdminUser("Admin", "admin", "admin@x.com", "hash"));
+        User volunteer = entityManager.persist(new User("Volunteer", "user1", "u1@x.com", "hash"));
+        event = new Event("Drive", "d", LocalDateTime.now().plusDays(30), 10, 50);
+        event.setCreator(admin);
+        entityManager.persist(event);
+        entityManager.persist(new Registration(volunteer, event));
+    }
+
+    @Test
+    void uploadStoresAStablePathAndHandsOutAPresignedUrl() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.PNG", "image/png",
+                "proof photo bytes".getBytes(StandardCharsets.UTF_8));
+
+        ProofDto dto = proofService.uploadProof(event.getId(), "u1@x.com", file);
+        entityManager.flush();
+        entityManager.clear();
+
+        Proof stored = entityManager.find(Proof.class, dto.getId());
+        assertThat(stored.getProofUrl()).isEqualTo("/" + stored.getStorageKey()).hasSizeLessThan(255);
+        assertThat(stored.getStorageKey()).matches("uploads/[0-9a-f]{64}\\.png");
+        assertThat(S3.objects()).containsKey(stored.getStorageKey());
+
+        // Clients get a signed URL straight to the bucket, built fresh on every read
+        assertThat(dto.getProofUrl())
+                .startsWith(S3.endpoint() + "/proofs/" + stored.getStorageKey())
+                .contains("X-Amz-Signature=");
+    }
+
+    @Test
+    void resendingTheSamePhotoAfterRejectionKeepsTheStoredObject() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.png", "image/png",
+                "rejected photo bytes".getBytes(StandardCharsets.UTF_8));
+        ProofDto first = proofService.uploadProof(event.getId(), "u1@x.com", file);
+        Proof rejected = entityManager.find(Proof.class, first.getId());
+        rejected.setStatus(Proof.ProofStatus.REJECTED);
+        entityManager.flush();
+        S3.requests().clear();
+
+        ProofDto second = proofService.uploadProof(event.getId(), "u1@x.com", file);
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(S3.requests()).noneMatch(request -> request.startsWith("PUT") || request.startsWith("DELETE"));
+        assertThat(S3.objects()).containsKey(rejected.getStorageKey());
+    }
+
+    private static FakeS3Server startS3() {
+        try {
+            return new FakeS3Server("proofs");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
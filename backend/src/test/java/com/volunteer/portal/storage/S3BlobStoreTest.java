@@ -0,0 +1,107 @@
+package com.volunteer.portal.storage;
+
+import com.volunteer.portal.support.FakeS3Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3BlobStoreTest {
+
+    private static final byte[] CONTENT = "proof photo bytes".getBytes(StandardCharsets.UTF_8);
+
+    private FakeS3Server s3;
+    private S3BlobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        s3 = new FakeS3Server("proofs");
+        store = newStore(s3, "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        s3.close();
+    }
+
+    @Test
+    void putStoresTheBytes() throws Exception {
+        store.put("uploads/a.png", new ByteArrayInputStream(CONTENT), CONTENT.length, "image/png");
+
+        assertThat(s3.objects().get("uploads/a.png")).isEqualTo(CONTENT);
+        assertThat(store.exists("uploads/a.png")).isTrue();
+        assertThat(store.exists("uploads/missing.png")).isFalse();
+    }
+
+    @Test
+    void getOnlyIssuesHeadUntilTheBodyIsRead() throws Exception {
+        s3.objects().put("uploads/a.png", CONTENT);
+
+        Resource resource = store.get("uploads/a.png");
+
+        // Enough for a conditional GET answered with 304: nothing left open
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        assertThat(resource.lastModified()).isPositive();
+        assertThat(resource.isReadable()).isTrue();
+        assertThat(s3.requests()).containsExactly("HEAD uploads/a.png");
+
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+        assertThat(s3.requests()).containsExactly("HEAD uploads/a.png", "GET uploads/a.png");
+    }
+
+    @Test
+    void getOfMissingKeyThrowsNoSuchFile() {
+        assertThatThrownBy(() -> store.get("uploads/missing.png")).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void deleteRemovesTheObject() throws Exception {
+        s3.objects().put("uploads/a.png", CONTENT);
+
+        store.delete("uploads/a.png");
+
+        assertThat(s3.objects()).doesNotContainKey("uploads/a.png");
+    }
+
+    @Test
+    void presignedUrlIsLongerThanAVarchar255() {
+        // Why proofs.proof_url stores the key path rather than this URL
+        assertThat(store.publicUrl("uploads/" + "a".repeat(64) + ".png")).hasSizeGreaterThan(255);
+    }
+
+    @Test
+    void publicBaseUrlIsUsedWhenConfigured() throws Exception {
+        S3BlobStore cdn = newStore(s3, "https://cdn.example.org/");
+        try {
+            assertThat(cdn.publicUrl("uploads/a.png")).isEqualTo("https://cdn.example.org/uploads/a.png");
+        } finally {
+            cdn.close();
+        }
+    }
+
+    static S3BlobStore newStore(FakeS3Server s3, String publicBaseUrl) {
+        S3BlobStore store = new S3BlobStore();
+        ReflectionTestUtils.setField(store, "bucket", "proofs");
+        ReflectionTestUtils.setField(store, "region", "us-east-1");
+        ReflectionTestUtils.setField(store, "endpoint", s3.endpoint().toString());
+        ReflectionTestUtils.setField(store, "pathStyleAccess", true);
+        ReflectionTestUtils.setField(store, "accessKey", "minioadmin");
+        ReflectionTestUtils.setField(store, "secretKey", "minioadmin");
+        ReflectionTestUtils.setField(store, "presignTtlMinutes", 15L);
+        ReflectionTestUtils.setField(store, "publicBaseUrl", publicBaseUrl);
+        store.init();
+        return store;
+    }
+}
@@ -0,0 +1,151 @@
+package com.volunteer.portal.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process stand-in for MinIO: path-style PUT, HEAD, GET and DELETE on a single bucket, objects
+ * kept in memory. Every request is recorded as "METHOD key" so tests can assert what was sent.
+ * Signatures are not checked.
+ */
+public final class FakeS3Server implements AutoCloseable {
+
+    private final HttpServer server;
+    private final String bucket;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final String lastModified =
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).withNano(0));
+
+    public FakeS3Server(String bucket) throws IOException {
+        this.bucket = bucket;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    public Map<String, byte[]> objects() {
+        return objects;
+    }
+
+    public List<String> requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String prefix = "/" + bucket + "/";
+            if (!path.startsWith(prefix)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String key = path.substring(prefix.length());
+            String method = exchange.getRequestMethod();
+            requests.add(method + " " + key);
+
+            switch (method) {
+                case "PUT" -> {
+                    byte[] content = readBody(exchange);
+                    objects.put(key, content);
+                    exchange.getResponseHeaders().add("ETag", etag(content));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "HEAD", "GET" -> {
+                    byte[] content = objects.get(key);
+                    if (content == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    exchange.getResponseHeaders().add("Last-Modified", lastModified);
+                    exchange.getResponseHeaders().add("ETag", etag(content));
+                    exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+                    if (method.equals("HEAD")) {
+                        exchange.getResponseHeaders().add("Content-Length", String.valueOf(content.length));
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        exchange.sendResponseHeaders(200, content.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(content);
+                        }
+                    }
+                }
+                case "DELETE" -> {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    // Undoes aws-chunked framing ("<hex-size>;chunk-signature=...\r\n<bytes>\r\n") when the client uses it
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = exchange.getRequestBody()) {
+            raw = in.readAllBytes();
+        }
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (encoding == null || !encoding.contains("aws-chunked")) {
+            return raw;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int pos = 0;
+        while (pos < raw.length) {
+            int lineEnd = indexOfCrlf(raw, pos);
+            String header = new String(raw, pos, lineEnd - pos);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            pos = lineEnd + 2;
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, pos, size);
+            pos += size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    // Like S3 for single-part uploads: the quoted MD5 of the content, which the SDK verifies
+    private static String etag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return bytes.length;
+    }
+}
@@ -0,0 +1,54 @@
+package com.volunteer.portal.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while a block runs. The persistence context and
+ * the second-level/query caches are cleared first, so every count is a cold-cache count.
+ */
+public final class StatementCounter {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+    }
+
+    public <T> Counted<T> count(Supplier<T> block) {
+        entityManager.flush();
+        entityManager.clear();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        T result = block.get();
+        return new Counted<>(result, statistics.getPrepareStatementCount());
+    }
+
+    public static final class Counted<T> {
+        private final T result;
+        private final long statements;
+
+        Counted(T result, long statements) {
+            this.result = result;
+            this.statements = statements;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+    }
+}
@@ -201,6 +201,14 @@ const AdminProofApproval = () => {
                           href={proof.proofUrl}
                           className="proof-link"
                         >
+                          {proof.thumbnailUrl && (
+                            <img
+                              src={proof.thumbnailUrl}
+                              alt="Proof preview"
+                              className="proof-thumbnail"
+                              loading="lazy"
+                            />
+                          )}
                           🔗 View Proof
                         </a>
                       </div>